@@ -0,0 +1,61 @@
+package pathfinder.bench;
+
+import java.util.LinkedHashMap;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Benchmark class is one timed operation of the
+ * benchmark suite, a name as a JMH benchmark method
+ * and its parameters, run repeatedly by the
+ * BenchmarkRunner class
+ *
+ */
+public abstract class Benchmark {
+	String name;
+	TimeUnit unit;//score unit per operation
+	LinkedHashMap<String, String> params = new LinkedHashMap<String, String>();
+
+	Benchmark(String name, TimeUnit unit){
+		this.name = name;
+		this.unit = unit;
+	}
+
+	//param
+	// add parameter shown with
+	// the benchmark's results
+	Benchmark param(String key, Object value){
+		params.put(key, String.valueOf(value));
+		return this;
+	}
+
+	//getName
+	// get name field
+	public String getName(){
+		return name;
+	}
+
+	//getParams
+	// get params field
+	public LinkedHashMap<String, String> getParams(){
+		return params;
+	}
+
+	//setup
+	// build operation input before
+	// timing, none by default
+	void setup(){
+	}
+
+	//run
+	// run one operation, returning its
+	// result so it is not optimized away
+	abstract Object run();
+
+	//toString
+	// implementation based on name
+	// and parameters
+	@Override
+	public String toString(){
+		return params.isEmpty() ? name : name + params.toString();
+	}
+}
@@ -0,0 +1,236 @@
+package pathfinder.bench;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/*
+ * BenchmarkRunner class times the SolverBenchmarks suite
+ * by wall clock in the manner of JMH average time mode:
+ * warmup iterations, then measured iterations each
+ * repeating the operation for at least ITERATION_MILLIS,
+ * scored as average time per operation with a 99.9%
+ * confidence error
+ *
+ * results are printed and written as JSON in the JMH
+ * result format so JMH tooling can compare runs
+ *
+ * usage: BenchmarkRunner [-wi n] [-i n] [-rf file] [regex]
+ *
+ */
+public class BenchmarkRunner {
+	private static final long ITERATION_MILLIS = 200;
+	//Student t 99.95% quantiles by degrees of freedom 1-30
+	private static final double[] T_QUANTILES = {
+		636.62, 31.60, 12.92, 8.61, 6.87, 5.96, 5.41, 5.04, 4.78, 4.59,
+		4.44, 4.32, 4.22, 4.14, 4.07, 4.01, 3.97, 3.92, 3.88, 3.85,
+		3.82, 3.79, 3.77, 3.75, 3.73, 3.71, 3.69, 3.67, 3.66, 3.65 };
+	private static final double Z_QUANTILE = 3.29;//beyond 30 degrees of freedom
+	private static final int MAX_BATCH = 1 << 16;//operations between clock reads
+
+	static volatile Object sink;//last result published, never read
+
+	int warmups = 3;
+	int iterations = 5;
+	Object consumed;//last result, keeps operations live
+
+	//main
+	// run benchmarks matching the optional
+	// regex, writing JSON results to -rf file
+	public static void main(String[] args){
+		BenchmarkRunner runner = new BenchmarkRunner();
+		File output = null;
+		Pattern filter = null;
+		for(int i = 0; i < args.length; i++){
+			if(args[i].equals("-wi") && i + 1 < args.length)
+				runner.warmups = Integer.parseInt(args[++i]);
+			else if(args[i].equals("-i") && i + 1 < args.length)
+				runner.iterations = Integer.parseInt(args[++i]);
+			else if(args[i].equals("-rf") && i + 1 < args.length)
+				output = new File(args[++i]);
+			else
+				filter = Pattern.compile(args[i]);
+		}
+		if(runner.warmups < 0 || runner.iterations < 1)
+			throw new IllegalArgumentException("need at least one measured iteration");
+
+		ArrayList<Result> results = new ArrayList<Result>();
+		for(Benchmark benchmark : SolverBenchmarks.getBenchmarks()){
+			if(filter != null && !filter.matcher(benchmark.toString()).find())
+				continue;
+			Result result = runner.run(benchmark);
+			System.out.println(result.toString());
+			results.add(result);
+		}
+		if(output != null)
+			runner.write(results, output);
+	}
+
+	//run
+	// time benchmark, warmup then
+	// measured iterations
+	Result run(Benchmark benchmark){
+		benchmark.setup();
+		for(int i = 0; i < warmups; i++)
+			iterate(benchmark);
+		double[] scores = new double[iterations];
+		for(int i = 0; i < iterations; i++)
+			scores[i] = iterate(benchmark);
+		return new Result(benchmark, scores);
+	}
+
+	//iterate
+	// repeat operation for at least ITERATION_MILLIS,
+	// at least once, in doubling batches so fast
+	// operations are not dominated by clock reads,
+	// returning average time per operation in the
+	// benchmark's unit
+	private double iterate(Benchmark benchmark){
+		long limit = ITERATION_MILLIS*1000000L;
+		long ops = 0;
+		int batch = 1;
+		long begin = System.nanoTime();
+		long elapsed;
+		do{
+			for(int i = 0; i < batch; i++)
+				consumed = benchmark.run();
+			ops += batch;
+			elapsed = System.nanoTime() - begin;
+			if(batch < MAX_BATCH)
+				batch <<= 1;
+		}while(elapsed < limit);
+		sink = consumed;
+		return (double)elapsed/ops/benchmark.unit.toNanos(1);
+	}
+
+	//write
+	// write results as a JSON array in
+	// the JMH result format
+	void write(ArrayList<Result> results, File file){
+		try(Writer out = new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8)){
+			out.write("[\n");
+			for(int i = 0; i < results.size(); i++){
+				results.get(i).write(out, this);
+				out.write(i + 1 < results.size() ? ",\n" : "\n");
+			}
+			out.write("]\n");
+		}catch(IOException e){
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	//getUnitLabel
+	// JMH label of unit per operation
+	private static String getUnitLabel(TimeUnit unit){
+		switch(unit){
+			case NANOSECONDS:
+				return "ns/op";
+			case MICROSECONDS:
+				return "us/op";
+			case MILLISECONDS:
+				return "ms/op";
+			default:
+				return "s/op";
+		}
+	}
+
+	//quote
+	// JSON string literal of s
+	private static String quote(String s){
+		StringBuilder sb = new StringBuilder("\"");
+		for(int i = 0; i < s.length(); i++){
+			char c = s.charAt(i);
+			if(c == '"' || c == '\\')
+				sb.append('\\').append(c);
+			else if(c < 0x20)
+				sb.append(String.format("\\u%04x", (int)c));
+			else
+				sb.append(c);
+		}
+		return sb.append('"').toString();
+	}
+
+	/*
+	 * Result class holds the measured iteration
+	 * scores of one benchmark
+	 */
+	static class Result {
+		Benchmark benchmark;
+		double[] scores;
+		double score;//mean
+		double error;//99.9% confidence half width
+
+		Result(Benchmark benchmark, double[] scores){
+			this.benchmark = benchmark;
+			this.scores = scores;
+			int n = scores.length;
+			double sum = 0;
+			for(double s : scores)
+				sum += s;
+			score = sum/n;
+			if(n > 1){
+				double var = 0;
+				for(double s : scores)
+					var += (s - score)*(s - score);
+				double t = n - 1 <= T_QUANTILES.length ? T_QUANTILES[n - 2] : Z_QUANTILE;
+				error = t*Math.sqrt(var/(n - 1)/n);
+			}else{
+				error = Double.NaN;
+			}
+		}
+
+		//write
+		// write JSON object of result
+		void write(Writer out, BenchmarkRunner runner) throws IOException{
+			StringBuilder sb = new StringBuilder();
+			sb.append("  {\n");
+			sb.append("    \"benchmark\" : ").append(quote("pathfinder.bench.SolverBenchmarks." + benchmark.name)).append(",\n");
+			sb.append("    \"mode\" : \"avgt\",\n");
+			sb.append("    \"threads\" : 1,\n");
+			sb.append("    \"forks\" : 1,\n");
+			sb.append("    \"warmupIterations\" : ").append(runner.warmups).append(",\n");
+			sb.append("    \"warmupTime\" : \"").append(ITERATION_MILLIS).append(" ms\",\n");
+			sb.append("    \"measurementIterations\" : ").append(runner.iterations).append(",\n");
+			sb.append("    \"measurementTime\" : \"").append(ITERATION_MILLIS).append(" ms\",\n");
+			sb.append("    \"params\" : {");
+			int i = 0;
+			for(Map.Entry<String, String> param : benchmark.params.entrySet()){
+				sb.append(i++ == 0 ? "\n" : ",\n");
+				sb.append("      ").append(quote(param.getKey())).append(" : ").append(quote(param.getValue()));
+			}
+			sb.append(i == 0 ? "},\n" : "\n    },\n");
+			sb.append("    \"primaryMetric\" : {\n");
+			sb.append("      \"score\" : ").append(score).append(",\n");
+			sb.append("      \"scoreError\" : ").append(Double.isNaN(error) ? "\"NaN\"" : String.valueOf(error)).append(",\n");
+			if(Double.isNaN(error))
+				sb.append("      \"scoreConfidence\" : [\"NaN\", \"NaN\"],\n");
+			else
+				sb.append("      \"scoreConfidence\" : [").append(score - error).append(", ").append(score + error).append("],\n");
+			sb.append("      \"scoreUnit\" : ").append(quote(getUnitLabel(benchmark.unit))).append(",\n");
+			sb.append("      \"rawData\" : [[");
+			for(int j = 0; j < scores.length; j++)
+				sb.append(j == 0 ? "" : ", ").append(scores[j]);
+			sb.append("]]\n");
+			sb.append("    },\n");
+			sb.append("    \"secondaryMetrics\" : {}\n");
+			sb.append("  }");
+			out.write(sb.toString());
+		}
+
+		//toString
+		// implementation based on
+		// score and error
+		@Override
+		public String toString(){
+			return String.format("%-70s %14.3f +- %10.3f %s", benchmark.toString(), score, error, getUnitLabel(benchmark.unit));
+		}
+	}
+}
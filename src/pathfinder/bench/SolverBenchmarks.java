@@ -0,0 +1,204 @@
+package pathfinder.bench;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+import pathfinder.puzzle.HeuristicType;
+import pathfinder.puzzle.PatternDatabase;
+import pathfinder.puzzle.PuzzleGoal;
+import pathfinder.puzzle.PuzzleState;
+import pathfinder.search.AlgoType;
+import pathfinder.search.IState;
+import pathfinder.search.Solver;
+import pathfinder.search.TranspositionTable;
+import pathfinder.simacogo.BitboardGameState;
+import pathfinder.simacogo.GameState;
+
+/*
+ * SolverBenchmarks class builds the benchmark suite:
+ * each AlgoType over a fixed corpus of 8 and 15 puzzle
+ * instances, minmax searches of the simacogo game, and
+ * state micro operations
+ *
+ * corpus boards are fixed seed random walks from the
+ * snail goal, uninformed searches run the 8 puzzle only
+ * and without a heuristic as it does not guide them
+ *
+ */
+public class SolverBenchmarks {
+	static final byte[][] EIGHT_PUZZLES = {
+		{ 2, 3, 0, 1, 8, 5, 7, 4, 6 },//8 move walk
+		{ 8, 3, 6, 2, 0, 4, 7, 1, 5 },//16 move walk
+		{ 7, 4, 0, 5, 3, 8, 2, 6, 1 },//24 move walk
+		{ 7, 1, 5, 6, 0, 3, 4, 8, 2 } //40 move walk
+	};
+	static final byte[][] FIFTEEN_PUZZLES = {
+		{ 1, 2, 3, 4, 12, 13, 6, 14, 11, 15, 5, 7, 10, 9, 0, 8 },//8 move walk
+		{ 1, 2, 3, 4, 12, 14, 0, 5, 10, 13, 15, 8, 9, 11, 7, 6 },//12 move walk
+		{ 1, 2, 3, 4, 12, 13, 6, 14, 9, 10, 8, 5, 0, 15, 11, 7 } //16 move walk
+	};
+	static final HeuristicType[] HEURISTICS = { HeuristicType.A1, HeuristicType.A2, HeuristicType.A3 };
+	static final int[] PLYS = { 2, 4, 6 };
+	static final int[] WIDTHS = { 4, 8, 12 };
+	static final int OPENING_PLYS = 10;//moves played before game micro operations
+	static final int TABLE_BITS = 18;//as Solver.solveMinMax
+
+	//getBenchmarks
+	// get the whole suite
+	public static ArrayList<Benchmark> getBenchmarks(){
+		ArrayList<Benchmark> benchmarks = new ArrayList<Benchmark>();
+		benchmarks.addAll(getSolveBenchmarks());
+		benchmarks.addAll(getMinMaxBenchmarks());
+		benchmarks.addAll(getStateBenchmarks());
+		return benchmarks;
+	}
+
+	//getSolveBenchmarks
+	// each search type over the puzzle corpus,
+	// informed searches by each heuristic
+	static ArrayList<Benchmark> getSolveBenchmarks(){
+		ArrayList<Benchmark> benchmarks = new ArrayList<Benchmark>();
+		for(AlgoType type : AlgoType.values()){
+			boolean isInformed = isInformed(type);
+			HeuristicType[] heuristics = isInformed ? HEURISTICS : new HeuristicType[]{ HeuristicType.NA };
+			for(HeuristicType heuristic : heuristics){
+				for(int i = 0; i < EIGHT_PUZZLES.length; i++)
+					benchmarks.add(solve(type, heuristic, EIGHT_PUZZLES[i], i));
+				if(!isInformed)
+					continue;//15 puzzle state space too large
+				for(int i = 0; i < FIFTEEN_PUZZLES.length; i++)
+					benchmarks.add(solve(type, heuristic, FIFTEEN_PUZZLES[i], i));
+			}
+		}
+		return benchmarks;
+	}
+
+	//getMinMaxBenchmarks
+	// minmax and principal variation searches
+	// from the empty board by plys and width,
+	// sharing a table cleared before each search
+	static ArrayList<Benchmark> getMinMaxBenchmarks(){
+		ArrayList<Benchmark> benchmarks = new ArrayList<Benchmark>();
+		final TranspositionTable table = new TranspositionTable(TABLE_BITS);
+		for(final int width : WIDTHS){
+			for(final int plys : PLYS){
+				benchmarks.add(new Benchmark("solveMinMax", TimeUnit.MILLISECONDS){
+					Object run(){
+						table.clear();
+						return Solver.solveMinMax(new GameState(new byte[width*width]), plys, table);
+					}
+				}.param("state", "GameState").param("width", width).param("plys", plys));
+				benchmarks.add(new Benchmark("solveMinMax", TimeUnit.MILLISECONDS){
+					Object run(){
+						table.clear();
+						return Solver.solveMinMax(new BitboardGameState(width), plys, table);
+					}
+				}.param("state", "BitboardGameState").param("width", width).param("plys", plys));
+				benchmarks.add(new Benchmark("solvePVS", TimeUnit.MILLISECONDS){
+					Object run(){
+						table.clear();
+						return Solver.solvePVS(new BitboardGameState(width), plys, table);
+					}
+				}.param("state", "BitboardGameState").param("width", width).param("plys", plys));
+			}
+		}
+		return benchmarks;
+	}
+
+	//getStateBenchmarks
+	// successor generation, hashing and
+	// estimates of IState implementations
+	static ArrayList<Benchmark> getStateBenchmarks(){
+		ArrayList<Benchmark> benchmarks = new ArrayList<Benchmark>();
+		final IState[] states = {
+			new PuzzleState(EIGHT_PUZZLES[3], HeuristicType.A3),
+			new PuzzleState(FIFTEEN_PUZZLES[2], HeuristicType.A3),
+			getOpening(new GameState(new byte[64])),
+			getOpening(new BitboardGameState(8))
+		};
+		int[] widths = { 3, 4, 8, 8 };
+		for(int i = 0; i < states.length; i++){
+			final IState state = states[i];
+			String name = state.getClass().getSimpleName();
+			benchmarks.add(new Benchmark("getSuccessors", TimeUnit.NANOSECONDS){
+				Object run(){
+					return state.getSuccessors();
+				}
+			}.param("state", name).param("width", widths[i]));
+			benchmarks.add(new Benchmark("hashCode", TimeUnit.NANOSECONDS){
+				Object run(){
+					return state.hashCode();
+				}
+			}.param("state", name).param("width", widths[i]));
+		}
+
+		//full estimate of a new problem state
+		for(final byte[][] corpus : new byte[][][]{ EIGHT_PUZZLES, FIFTEEN_PUZZLES }){
+			final byte[] board = corpus[corpus.length - 1];
+			for(final HeuristicType heuristic : HEURISTICS){
+				benchmarks.add(new Benchmark("getEstimate", TimeUnit.NANOSECONDS){
+					Object run(){
+						return new PuzzleState(board, heuristic).getHeuisticCost();
+					}
+				}.param("puzzle", board.length - 1).param("heuristic", heuristic));
+			}
+		}
+
+		//pattern database lookup, 8 puzzle tables build quickly
+		for(final HeuristicType heuristic : new HeuristicType[]{ HeuristicType.P1, HeuristicType.P2 }){
+			final byte[] board = EIGHT_PUZZLES[EIGHT_PUZZLES.length - 1];
+			benchmarks.add(new Benchmark("getEstimate", TimeUnit.NANOSECONDS){
+				PatternDatabase patterns;
+				void setup(){
+					patterns = PuzzleGoal.getSnailGoal(3).getPatternDatabase(heuristic);
+				}
+				Object run(){
+					return patterns.getEstimate(board);
+				}
+			}.param("puzzle", board.length - 1).param("heuristic", heuristic));
+		}
+		return benchmarks;
+	}
+
+	//solve
+	// search of one corpus board
+	// toward the snail goal
+	private static Benchmark solve(final AlgoType type, HeuristicType heuristic, byte[] board, int instance){
+		int k = (int) Math.sqrt(board.length);//assume board is always a NxN matrix
+		final IState problem = new PuzzleState(board, heuristic);
+		final IState solution = new PuzzleState(PuzzleGoal.getSnailGoal(k).getBoard(), heuristic);
+		return new Benchmark("solve", TimeUnit.MILLISECONDS){
+			Object run(){
+				return Solver.solve(type, problem, solution);
+			}
+		}.param("algo", type).param("heuristic", heuristic).param("puzzle", board.length - 1).param("instance", instance);
+	}
+
+	//isInformed
+	// check if search type is
+	// guided by the heuristic
+	private static boolean isInformed(AlgoType type){
+		switch(type){
+			case AS:
+			case ASB:
+			case IDAS:
+			case HDAS:
+			case BAS:
+				return true;
+			default:
+				return false;
+		}
+	}
+
+	//getOpening
+	// play OPENING_PLYS moves from start, each
+	// the successor indexed by the ply number
+	private static IState getOpening(IState start){
+		IState state = start;
+		for(int i = 0; i < OPENING_PLYS; i++){
+			ArrayList<IState> successors = state.getSuccessors();
+			state = successors.get(i % successors.size()).getUnboundCopy();
+		}
+		return state;
+	}
+}
@@ -0,0 +1,325 @@
+package pathfinder.puzzle;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import pathfinder.search.AlgoType;
+import pathfinder.search.ISearchListener;
+import pathfinder.search.SearchConfig;
+import pathfinder.search.SearchLimitException;
+import pathfinder.search.SearchStats;
+import pathfinder.search.Solution;
+import pathfinder.search.Solver;
+
+/*
+ * BatchSolver class solves many independent puzzle
+ * instances by one search type and heuristic over a
+ * pool of threads, results are taken in the order
+ * the instances finish
+ *
+ * each instance searches with its own copy of the
+ * SearchConfig so its SearchStats, node and time
+ * limits are its own, goals are shared between
+ * instances with the same goal board, a
+ * checkpoint file is not shared and is dropped
+ *
+ * instance files hold one start board per line as
+ * space separated tiles, optionally followed by '/'
+ * and a goal board, the snail goal otherwise, blank
+ * lines and lines starting with '#' are skipped
+ *
+ * usage: BatchSolver [-t threads] [-n nodes] [-ms millis] algo heuristic file
+ *
+ */
+public class BatchSolver implements AutoCloseable {
+	private AlgoType type;
+	private HeuristicType heuristic;
+	private SearchConfig config;
+	private ExecutorService executor;
+	private boolean isOwned;//executor is shut down on close
+	private CompletionService<Result> results;
+	private HashMap<String, PuzzleGoal> goals = new HashMap<String, PuzzleGoal>();
+	private int submitted;
+	private int taken;
+
+	//public constructor solving over a fixed
+	//pool of config.getThreads() threads
+	public BatchSolver(AlgoType type, HeuristicType heuristic, SearchConfig config){
+		this(type, heuristic, config, Executors.newFixedThreadPool(config.getThreads()));
+		this.isOwned = true;
+	}
+
+	//public constructor solving over a caller
+	//owned executor, e.g. a virtual thread per
+	//task executor, left running on close
+	public BatchSolver(AlgoType type, HeuristicType heuristic, SearchConfig config, ExecutorService executor){
+		this.type = type;
+		this.heuristic = heuristic;
+		this.config = config;
+		this.executor = executor;
+		this.results = new ExecutorCompletionService<Result>(executor);
+	}
+
+	//main
+	// solve instances of file, printing
+	// each result as it finishes
+	public static void main(String[] args) throws InterruptedException{
+		SearchConfig config = new SearchConfig();
+		int i = 0;
+		for(; i + 1 < args.length && args[i].startsWith("-"); i += 2){
+			if(args[i].equals("-t"))
+				config.setThreads(Integer.parseInt(args[i + 1]));
+			else if(args[i].equals("-n"))
+				config.setNodeLimit(Long.parseLong(args[i + 1]));
+			else if(args[i].equals("-ms"))
+				config.setTimeLimit(Long.parseLong(args[i + 1]));
+			else
+				throw new IllegalArgumentException("unknown option: " + args[i]);
+		}
+		if(args.length - i != 3)
+			throw new IllegalArgumentException("usage: BatchSolver [-t threads] [-n nodes] [-ms millis] algo heuristic file");
+
+		try(BatchSolver batch = new BatchSolver(AlgoType.valueOf(args[i]), HeuristicType.valueOf(args[i + 1]), config)){
+			batch.submitAll(new File(args[i + 2]));
+			Result result;
+			while((result = batch.take()) != null)
+				System.out.println(result.toString());
+		}
+	}
+
+	//submit
+	// queue instance solved toward the snail
+	// goal, returning its index
+	public int submit(byte[] board){
+		return submit(board, null);
+	}
+
+	//submit
+	// queue instance solved toward goal,
+	// returning its index, board and config
+	// are copied so callers may reuse them
+	public synchronized int submit(byte[] board, byte[] goal){
+		final PuzzleGoal target = getGoal(goal != null ? goal : PuzzleGoal.getSnailGoal((int) Math.sqrt(board.length)).getBoard());
+		if(target.board.length != board.length)
+			throw new IllegalArgumentException("board and goal sizes differ: " + Arrays.toString(board));
+		final int index = submitted++;
+		final byte[] tiles = board.clone();
+		final SearchConfig instance = config.copy().setCheckpoint(null, 0);
+		results.submit(new Callable<Result>(){
+			public Result call(){
+				return solve(index, tiles, target, instance);
+			}
+		});
+		return index;
+	}
+
+	//submitAll
+	// queue each instance line of file,
+	// returning the count queued
+	public int submitAll(File file){
+		try(Reader in = new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8)){
+			return submitAll(in);
+		}catch(IOException e){
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	//submitAll
+	// queue each instance line read from
+	// in, returning the count queued
+	public int submitAll(Reader in){
+		BufferedReader reader = new BufferedReader(in);
+		int count = 0;
+		try{
+			String line;
+			for(int number = 1; (line = reader.readLine()) != null; number++){
+				line = line.trim();
+				if(line.isEmpty() || line.startsWith("#"))
+					continue;
+				String[] parts = line.split("/");
+				if(parts.length > 2)
+					throw new IllegalArgumentException("line " + number + ": more than one goal");
+				submit(parseBoard(parts[0], number), parts.length == 2 ? parseBoard(parts[1], number) : null);
+				count++;
+			}
+		}catch(IOException e){
+			throw new UncheckedIOException(e);
+		}
+		return count;
+	}
+
+	//take
+	// wait for the next instance to finish,
+	// null if none are pending
+	public Result take() throws InterruptedException{
+		synchronized(this){
+			if(taken == submitted)
+				return null;
+			taken++;
+		}
+		try{
+			return results.take().get();
+		}catch(ExecutionException e){
+			if(e.getCause() instanceof Error)
+				throw (Error)e.getCause();
+			throw new IllegalStateException(e.getCause());//solve catches runtime failures
+		}
+	}
+
+	//getPending
+	// get count of instances not taken
+	public synchronized int getPending(){
+		return submitted - taken;
+	}
+
+	//close
+	// shut down the pool if it was
+	// created by this batch
+	@Override
+	public void close(){
+		if(isOwned)
+			executor.shutdown();
+	}
+
+	//solve
+	// search one instance with its own config
+	// copy, a listener keeps its stats whether
+	// it is solved or not
+	private Result solve(int index, byte[] board, PuzzleGoal goal, SearchConfig instance){
+		final SearchStats[] finished = new SearchStats[1];
+		instance.addSearchListener(new ISearchListener(){
+			public void onSearchFinished(SearchStats stats){
+				finished[0] = stats;
+			}
+		});
+
+		Result result = new Result(index, board);
+		try{
+			result.solution = Solver.solve(type, new PuzzleState(board, heuristic, goal), new PuzzleState(goal.board, heuristic, goal), instance);
+		}catch(SearchLimitException e){
+			result.isLimitReached = true;
+		}catch(RuntimeException e){
+			result.failure = e;
+		}
+		result.stats = finished[0];
+		return result;
+	}
+
+	//getGoal
+	// get shared goal of board, tables and
+	// pattern databases are built once
+	private synchronized PuzzleGoal getGoal(byte[] board){
+		String key = Arrays.toString(board);
+		PuzzleGoal goal = goals.get(key);
+		if(goal == null){
+			goal = new PuzzleGoal(board);
+			goals.put(key, goal);
+		}
+		return goal;
+	}
+
+	//parseBoard
+	// parse space separated tiles
+	private static byte[] parseBoard(String tiles, int number){
+		String[] values = tiles.trim().split("\\s+");
+		byte[] board = new byte[values.length];
+		try{
+			for(int i = 0; i < values.length; i++)
+				board[i] = Byte.parseByte(values[i]);
+		}catch(NumberFormatException e){
+			throw new IllegalArgumentException("line " + number + ": bad tile in " + tiles.trim());
+		}
+		return board;
+	}
+
+	/*
+	 * Result class holds the outcome of one
+	 * instance of the batch
+	 */
+	public static class Result {
+		int index;//order submitted
+		byte[] board;
+		Solution solution;//null if not solved
+		SearchStats stats;//null if search failed to start
+		boolean isLimitReached;
+		RuntimeException failure;
+
+		Result(int index, byte[] board){
+			this.index = index;
+			this.board = board;
+		}
+
+		//getIndex
+		// get index field
+		public int getIndex(){
+			return index;
+		}
+
+		//getBoard
+		// get copy of board field
+		public byte[] getBoard(){
+			return Arrays.copyOf(board, board.length);
+		}
+
+		//getSolution
+		// get solution field, null if not
+		// solved, limited or failed
+		public Solution getSolution(){
+			return solution;
+		}
+
+		//getSearchStats
+		// get stats field
+		public SearchStats getSearchStats(){
+			return stats;
+		}
+
+		//isLimitReached
+		// check if search was stopped by
+		// a node or time limit
+		public boolean isLimitReached(){
+			return isLimitReached;
+		}
+
+		//getFailure
+		// get failure field, null unless
+		// the search threw
+		public RuntimeException getFailure(){
+			return failure;
+		}
+
+		//toString
+		// implementation based on outcome
+		// and stats
+		@Override
+		public String toString(){
+			StringBuilder sb = new StringBuilder();
+			sb.append(index).append(": ");
+			if(solution != null)
+				sb.append("solved cost= ").append(solution.getEndState().getCurrentCost()).append("; moves= ").append(solution.getEndState().getDepth());
+			else if(isLimitReached)
+				sb.append("limit reached");
+			else if(failure != null)
+				sb.append("failed ").append(failure.toString());
+			else
+				sb.append("no solution");
+			if(stats != null)
+				sb.append("; ").append(stats.toString());
+			return sb.toString();
+		}
+	}
+}
@@ -2,9 +2,11 @@ package pathfinder.puzzle;
 
 /*
  * AlgoType enum for A* estimate type, NA
- * used for none A* algo
+ * used for none A* algo, P1 and P2 are the
+ * additive pattern databases of the goal by
+ * move count and by tile value
  * 
  */
 public enum HeuristicType {
-	A1, A2 ,A3, NA
+	A1, A2 ,A3, P1, P2, NA
 }
@@ -0,0 +1,419 @@
+package pathfinder.puzzle;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.BitSet;
+
+/*
+ * PatternDatabase class holds additive disjoint pattern
+ * databases of a PuzzleGoal, the tiles (empty tile excluded)
+ * are partitioned into groups and each group table holds the
+ * least cost of moves of the group's tiles to bring them
+ * from any placement to their goal cells, other tiles being
+ * indistinct, group tables sum to an admissible estimate
+ *
+ * cost is the move count (one unsigned byte per entry) or,
+ * when weighted, the sum of the moved tile values as
+ * PuzzleState move costs (two bytes per entry)
+ *
+ * a table is indexed by the cells of the group tiles in
+ * radix board length, [cell of 1st tile + cell of 2nd tile*n + ...],
+ * states keep the index of each group and move it by the
+ * weight of the moved tile, so a move costs two table reads
+ *
+ * tables are heap buffers when built and slices of the file
+ * mapping when loaded, read in place without a heap copy
+ *
+ */
+public class PatternDatabase {
+	private static final int MAGIC = 0x50444231;//PDB1
+
+	int n;//board length
+	int k;//board width
+	byte[] board;//goal board
+	boolean weighted;//costs are tile values or move counts
+	int[][] groups;//tiles of each group
+	int[] group;//group of each tile, -1 for the empty tile
+	int[] weight;//radix weight of each tile in its group index
+	ByteBuffer[] tables;//costs of each group, [group][index*width]
+	long all;//bit mask of board cells
+	long left;//bit mask of cells not in the last column
+	long right;//bit mask of cells not in the first column
+
+	//private constructor sets up group lookups,
+	//tables are built or loaded by the caller
+	private PatternDatabase(byte[] board, int[][] groups, boolean weighted){
+		this.n = board.length;
+		this.k = (int) Math.sqrt(n);
+		this.board = Arrays.copyOf(board, n);
+		this.weighted = weighted;
+		this.groups = new int[groups.length][];
+		this.group = new int[n];
+		this.weight = new int[n];
+		this.tables = new ByteBuffer[groups.length];
+		if(n > 64)
+			throw new IllegalArgumentException("pattern database boards are limited to 8x8");
+
+		Arrays.fill(group, -1);
+		for(int g = 0; g < groups.length; g++){
+			this.groups[g] = Arrays.copyOf(groups[g], groups[g].length);
+			long size = 1;
+			for(int j = 0; j < groups[g].length; j++){
+				int val = groups[g][j];
+				if(val <= 0 || val >= n || group[val] != -1)
+					throw new IllegalArgumentException("pattern groups are not a partition of the tiles: " + Arrays.deepToString(groups));
+				group[val] = g;
+				weight[val] = (int)size;
+				size *= n;
+			}
+			//build marks (placement, blank cell) pairs in an int indexed bit set
+			if(size * n > Integer.MAX_VALUE)
+				throw new IllegalArgumentException("pattern group too large for board: " + Arrays.toString(groups[g]));
+		}
+		for(int val = 1; val < n; val++){
+			if(group[val] == -1)
+				throw new IllegalArgumentException("pattern groups are not a partition of the tiles: " + Arrays.deepToString(groups));
+		}
+
+		this.all = n == 64 ? -1L : (1L << n) - 1;
+		for(int row = 0; row < k; row++){
+			left |= ((1L << (k - 1)) - 1) << (row*k);
+			right |= ((1L << (k - 1)) - 1) << (row*k + 1);
+		}
+	}
+
+	//build
+	// build tables of goal for the default
+	// partition of its board width
+	public static PatternDatabase build(PuzzleGoal goal, boolean weighted){
+		return build(goal, getDefaultGroups(goal), weighted);
+	}
+
+	//build
+	// build tables of goal for the tile
+	// partition groups, one backward search
+	// from the goal per group
+	public static PatternDatabase build(PuzzleGoal goal, int[][] groups, boolean weighted){
+		PatternDatabase pdb = new PatternDatabase(goal.board, groups, weighted);
+		for(int g = 0; g < groups.length; g++)
+			pdb.tables[g] = pdb.buildTable(g);
+		return pdb;
+	}
+
+	//getDefaultGroups
+	// partition goal tiles in goal board order, 4-4
+	// for the eight puzzle, 6-6-3 for the fifteen
+	// puzzle and groups of 5 for larger boards
+	public static int[][] getDefaultGroups(PuzzleGoal goal){
+		int n = goal.board.length;
+		int[] sizes;
+		if(n <= 9)
+			sizes = new int[]{ 4, 4 };
+		else if(n <= 16)
+			sizes = new int[]{ 6, 6, 3 };
+		else
+			sizes = new int[]{ 5 };
+
+		int[] tiles = new int[n - 1];
+		int count = 0;
+		for(int i = 0; i < n; i++){
+			if(goal.board[i] != 0)
+				tiles[count++] = goal.board[i];
+		}
+
+		int[][] groups = new int[0][];
+		int from = 0;
+		for(int g = 0; from < count; g++){
+			int size = Math.min(sizes[Math.min(g, sizes.length - 1)], count - from);
+			groups = Arrays.copyOf(groups, g + 1);
+			groups[g] = Arrays.copyOfRange(tiles, from, from + size);
+			from += size;
+		}
+		return groups;
+	}
+
+	//getEstimate
+	// sum of group table costs
+	// for the placement of board
+	public int getEstimate(byte[] board){
+		int est = 0;
+		for(int g = 0; g < tables.length; g++)
+			est += get(tables[g], getIndex(board, g));
+		return est;
+	}
+
+	//getIndexes
+	// table index of each group
+	// placement on board
+	public int[] getIndexes(byte[] board){
+		int[] indexes = new int[tables.length];
+		for(int g = 0; g < tables.length; g++)
+			indexes[g] = getIndex(board, g);
+		return indexes;
+	}
+
+	//moveTile
+	// move index of the group of tile val
+	// sliding from index from to index to,
+	// returning the estimate change, only
+	// the group of val changes
+	public int moveTile(int[] indexes, int val, int from, int to){
+		int g = group[val];
+		if(g < 0)
+			return 0;
+		ByteBuffer table = tables[g];
+		int index = indexes[g];
+		int moved = index + (to - from)*weight[val];
+		indexes[g] = moved;
+		return get(table, moved) - get(table, index);
+	}
+
+	//isWeighted
+	// check if costs are tile values
+	public boolean isWeighted(){
+		return weighted;
+	}
+
+	//getGroups
+	// get copy of tile partition
+	public int[][] getGroups(){
+		int[][] copy = new int[groups.length][];
+		for(int g = 0; g < groups.length; g++)
+			copy[g] = Arrays.copyOf(groups[g], groups[g].length);
+		return copy;
+	}
+
+	//getIndex
+	// table index of group g placement on board
+	private int getIndex(byte[] board, int g){
+		int index = 0;
+		for(int i = 0; i < n; i++){
+			int val = board[i];
+			if(group[val] == g)
+				index += i*weight[val];
+		}
+		return index;
+	}
+
+	//get
+	// unsigned cost at index of table
+	private int get(ByteBuffer table, int index){
+		if(!weighted)
+			return table.get(index) & 0xff;
+		return table.getShort(index << 1) & 0xffff;
+	}
+
+	//set
+	// set unsigned cost at index of table
+	private void set(ByteBuffer table, int index, int cost){
+		if(!weighted)
+			table.put(index, (byte)cost);
+		else
+			table.putShort(index << 1, (short)cost);
+	}
+
+	//buildTable
+	// backward uniform cost search from the goal
+	// placement of group g over an integer cost bucket
+	// queue (breadth first when not weighted), a node is
+	// a placement of the group tiles and the region of cells
+	// the empty tile can reach without moving them (named
+	// by its least cell), so moves of other tiles are free
+	// and every edge moves one group tile, regions are
+	// flood filled as cell bit masks
+	private ByteBuffer buildTable(int g){
+		int[] tiles = groups[g];
+		int p = tiles.length;
+		int size = 1;
+		for(int j = 0; j < p; j++)
+			size *= n;
+		int max = weighted ? 0xffff : 0xff;//unset entry
+
+		byte[] bytes = new byte[weighted ? size << 1 : size];
+		Arrays.fill(bytes, (byte)0xff);
+		ByteBuffer table = ByteBuffer.wrap(bytes);
+		BitSet isVisited = new BitSet(size * n);
+		int[] cells = new int[p];//cell of each group tile
+
+		int start = 0;
+		for(int j = 0; j < p; j++)
+			start += goal(tiles[j])*weight[tiles[j]];
+		long occupied = decode(start, cells);
+
+		int[][] buckets = new int[64][];//nodes queued at each cost
+		int[] bucketSizes = new int[64];
+		buckets[0] = new int[]{ start*n + Long.numberOfTrailingZeros(fill(1L << goal(0), ~occupied & all)) };
+		bucketSizes[0] = 1;
+		if(!weighted)
+			isVisited.set(buckets[0][0]);
+
+		for(int cost = 0; cost < buckets.length; cost++){
+			int[] bucket = buckets[cost];
+			for(int q = 0; q < bucketSizes[cost]; q++){
+				int node = bucket[q];
+				if(weighted){//visited once polled, stale copies skipped
+					if(isVisited.get(node))
+						continue;
+					isVisited.set(node);
+				}
+				int index = node / n;
+				if(get(table, index) == max)
+					set(table, index, cost);
+				occupied = decode(index, cells);
+				long region = fill(1L << (node % n), ~occupied & all);
+
+				//slide each group tile next to the region into it
+				for(int j = 0; j < p; j++){
+					int d = cells[j];
+					long from = 1L << d;
+					long into = grow(from) & region;
+					while(into != 0){
+						int c = Long.numberOfTrailingZeros(into);
+						into &= into - 1;
+
+						int moved = index + (c - d)*weight[tiles[j]];
+						long free = ~(occupied ^ from ^ (1L << c)) & all;
+						int to = moved*n + Long.numberOfTrailingZeros(fill(from, free));
+						if(isVisited.get(to))
+							continue;
+						if(!weighted)//visited once queued, first queued is cheapest
+							isVisited.set(to);
+
+						int next = cost + (weighted ? tiles[j] : 1);
+						if(next >= max)
+							throw new IllegalStateException("pattern cost overflows table entry");
+						if(next >= buckets.length){
+							buckets = Arrays.copyOf(buckets, Math.max(next + 1, buckets.length << 1));
+							bucketSizes = Arrays.copyOf(bucketSizes, buckets.length);
+						}
+						if(buckets[next] == null)
+							buckets[next] = new int[16];
+						else if(bucketSizes[next] == buckets[next].length)
+							buckets[next] = Arrays.copyOf(buckets[next], buckets[next].length << 1);
+						buckets[next][bucketSizes[next]++] = to;
+					}
+				}
+			}
+			buckets[cost] = null;//release polled bucket
+		}
+		return table;
+	}
+
+	//goal
+	// goal board index of tile val
+	private int goal(int val){
+		for(int i = 0; i < n; i++){
+			if(board[i] == val)
+				return i;
+		}
+		return -1;
+	}
+
+	//decode
+	// unpack cells of group placement index
+	// into cells, returning their bit mask
+	private long decode(int index, int[] cells){
+		long occupied = 0;
+		for(int j = 0; j < cells.length; j++){
+			cells[j] = index % n;
+			occupied |= 1L << cells[j];
+			index /= n;
+		}
+		return occupied;
+	}
+
+	//grow
+	// bit mask of cells next to cells of mask
+	private long grow(long mask){
+		return ((mask >>> k) | (mask << k) | ((mask & right) >>> 1) | ((mask & left) << 1)) & all;
+	}
+
+	//fill
+	// flood fill free cells reachable from seed
+	private long fill(long seed, long free){
+		long region = seed;
+		long last;
+		do{
+			last = region;
+			region |= grow(region) & free;
+		}while(region != last);
+		return region;
+	}
+
+	//save
+	// write goal, groups and tables to file
+	public void save(File file){
+		try(FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE,
+				StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)){
+			int header = 4*4 + n;
+			for(int g = 0; g < groups.length; g++)
+				header += 4 + 4*groups[g].length;
+			ByteBuffer buffer = ByteBuffer.allocate(header);
+			buffer.putInt(MAGIC);
+			buffer.putInt(n);
+			buffer.put(board);
+			buffer.putInt(weighted ? 1 : 0);
+			buffer.putInt(groups.length);
+			for(int g = 0; g < groups.length; g++){
+				buffer.putInt(groups[g].length);
+				for(int j = 0; j < groups[g].length; j++)
+					buffer.putInt(groups[g][j]);
+			}
+			buffer.flip();
+			while(buffer.hasRemaining())
+				channel.write(buffer);
+			for(int g = 0; g < tables.length; g++){
+				ByteBuffer table = tables[g].duplicate();
+				table.clear();
+				while(table.hasRemaining())
+					channel.write(table);
+			}
+		}catch(IOException e){
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	//load
+	// map file written by save, tables are
+	// read in place from the mapping, which
+	// outlives the channel, goal must match
+	// the saved goal board
+	public static PatternDatabase load(File file, PuzzleGoal goal){
+		try(FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)){
+			MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+			if(buffer.getInt() != MAGIC)
+				throw new IllegalArgumentException("not a pattern database file: " + file);
+			byte[] board = new byte[buffer.getInt()];
+			buffer.get(board);
+			if(!Arrays.equals(board, goal.board))
+				throw new IllegalArgumentException("pattern database goal differs: " + file);
+			boolean weighted = buffer.getInt() != 0;
+			int[][] groups = new int[buffer.getInt()][];
+			for(int g = 0; g < groups.length; g++){
+				groups[g] = new int[buffer.getInt()];
+				for(int j = 0; j < groups[g].length; j++)
+					groups[g][j] = buffer.getInt();
+			}
+
+			PatternDatabase pdb = new PatternDatabase(board, groups, weighted);
+			for(int g = 0; g < groups.length; g++){
+				int size = weighted ? 2 : 1;
+				for(int j = 0; j < groups[g].length; j++)
+					size *= pdb.n;
+				ByteBuffer table = buffer.slice();
+				table.limit(size);
+				pdb.tables[g] = table;
+				buffer.position(buffer.position() + size);
+			}
+			return pdb;
+		}catch(IOException e){
+			throw new UncheckedIOException(e);
+		}
+	}
+}
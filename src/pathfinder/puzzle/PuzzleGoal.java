@@ -0,0 +1,169 @@
+package pathfinder.puzzle;
+
+import java.util.Arrays;
+import java.util.HashMap;
+
+/*
+ * PuzzleGoal class holds the solution board of an
+ * NxN puzzle and per (tile, board index) heuristic 
+ * tables built once per goal and shared by every 
+ * PuzzleState solved toward it
+ * 
+ */
+public class PuzzleGoal {
+	private static HashMap<Integer, PuzzleGoal> snailGoals = new HashMap<Integer, PuzzleGoal>();
+	
+	byte[] board;//flatten solution board
+	int k;//board width
+	int[] index;//solution board index of each tile
+	int[] misplaced;//[tile*n + pos] A1 estimates
+	int[] distance;//[tile*n + pos] A2 estimates
+	int[] cost;//[tile*n + pos] A3 estimates
+	int[] zero;//NA estimates
+	PatternDatabase patterns;//P1 tables, built on first use
+	PatternDatabase weightedPatterns;//P2 tables, built on first use
+	
+	//public constructor for any NxN solution board
+	//holding each tile 0 to N*N-1 once
+	public PuzzleGoal(byte[] board){
+		int n = board.length;
+		this.k = (int) Math.sqrt(n);
+		if(k*k != n)
+			throw new IllegalArgumentException("goal board is not a NxN matrix: " + Arrays.toString(board));
+		this.board = Arrays.copyOf(board, n);
+		this.index = new int[n];
+		Arrays.fill(index, -1);
+		for(int i = 0; i < n; i++){
+			int val = board[i];
+			if(val < 0 || val >= n || index[val] != -1)
+				throw new IllegalArgumentException("goal board is not a tile permutation: " + Arrays.toString(board));
+			index[val] = i;
+		}
+		
+		this.misplaced = new int[n*n];
+		this.distance = new int[n*n];
+		this.cost = new int[n*n];
+		this.zero = new int[n*n];
+		//tile 0 rows stay zero, ignore duplicate cost of zero
+		for(int val = 1; val < n; val++){
+			int sol = index[val];
+			for(int pos = 0; pos < n; pos++){
+				//Manhattan distance for flat board
+				int d = Math.abs(sol%k - pos%k) + Math.abs(sol/k - pos/k);
+				misplaced[val*n + pos] = d == 0 ? 0 : 1;
+				distance[val*n + pos] = d;
+				cost[val*n + pos] = d*val;//weighted by value of position
+			}
+		}
+	}
+	
+	//getSnailGoal
+	// get shared goal of width k with tiles in clockwise
+	// spiral order from the top left corner and the empty
+	// tile last, e.g. 1 2 3 / 8 0 4 / 7 6 5 for eight puzzle
+	public static synchronized PuzzleGoal getSnailGoal(int k){
+		PuzzleGoal goal = snailGoals.get(k);
+		if(goal == null){
+			byte[] board = new byte[k*k];
+			int top = 0, bottom = k - 1, left = 0, right = k - 1;
+			int val = 1;
+			while(val < k*k){
+				for(int j = left; j <= right && val < k*k; j++)
+					board[top*k + j] = (byte)val++;
+				top++;
+				for(int i = top; i <= bottom && val < k*k; i++)
+					board[i*k + right] = (byte)val++;
+				right--;
+				for(int j = right; j >= left && val < k*k; j--)
+					board[bottom*k + j] = (byte)val++;
+				bottom--;
+				for(int i = bottom; i >= top && val < k*k; i--)
+					board[i*k + left] = (byte)val++;
+				left++;
+			}
+			goal = new PuzzleGoal(board);
+			snailGoals.put(k, goal);
+		}
+		return goal;
+	}
+	
+	//getBoard
+	// get copy of solution board
+	public byte[] getBoard(){
+		return Arrays.copyOf(board, board.length);
+	}
+	
+	//getWidth
+	// get board width
+	public int getWidth(){
+		return k;
+	}
+	
+	//getSolutionIndex
+	// get board index of a specific val
+	// in the solution state
+	public int getSolutionIndex(int val){
+		return index[val];
+	}
+	
+	//getPatternDatabase
+	// get pattern database of goal for P1 (move
+	// count) or P2 (tile value weighted), building
+	// the default partition on first use
+	public synchronized PatternDatabase getPatternDatabase(HeuristicType heuristic){
+		if(heuristic == HeuristicType.P1){
+			if(patterns == null)
+				patterns = PatternDatabase.build(this, false);
+			return patterns;
+		}else if(heuristic == HeuristicType.P2){
+			if(weightedPatterns == null)
+				weightedPatterns = PatternDatabase.build(this, true);
+			return weightedPatterns;
+		}
+		return null;
+	}
+	
+	//setPatternDatabase
+	// set P1 or P2 pattern database of goal, by
+	// its weighting, e.g. one loaded from disk or
+	// built for another partition
+	public synchronized void setPatternDatabase(PatternDatabase patterns){
+		if(!Arrays.equals(board, patterns.board))
+			throw new IllegalArgumentException("pattern database goal differs");
+		if(patterns.isWeighted())
+			this.weightedPatterns = patterns;
+		else
+			this.patterns = patterns;
+	}
+	
+	//getEstimates
+	// get per (tile, board index) estimate
+	// table of heuristic, [tile*n + pos],
+	// zero for P1 and P2 which are not tile sums
+	int[] getEstimates(HeuristicType heuristic){
+		if(heuristic == HeuristicType.A1)
+			return misplaced;
+		else if(heuristic == HeuristicType.A2)
+			return distance;
+		else if(heuristic == HeuristicType.A3)
+			return cost;
+		else
+			return zero;
+	}
+	
+	//equals
+	// implementation based on solution board
+	@Override
+	public boolean equals(Object obj){
+		if(!(obj instanceof PuzzleGoal))
+			return false;
+		return Arrays.equals(board, ((PuzzleGoal)obj).board);
+	}
+	
+	//hashCode
+	// implementation based on solution board
+	@Override
+	public int hashCode(){
+		return Arrays.hashCode(board);
+	}
+}
@@ -3,47 +3,106 @@ package pathfinder.puzzle;
 import java.util.ArrayList;
 import java.util.Arrays;
 
+import pathfinder.search.IMutableState;
+import pathfinder.search.IReversibleState;
 import pathfinder.search.IState;
+import pathfinder.search.IUnpackableState;
 
 /*
  * PuzzleState concrete implementation of IState
  * for NxN puzzle game
  * 
+ * moves (IMutableState) are the direction the empty
+ * tile travels, mutated states must not be held in
+ * hashed collections
+ * 
+ * slides are reversible at the same cost (the moved
+ * tile's value) so predecessors are the successors
  */
 
-public class PuzzleState implements IState{
+public class PuzzleState implements IUnpackableState, IMutableState, IReversibleState{
+	private static final int UP = 0;//inverse of a move is move^1
+	private static final int DOWN = 1;
+	private static final int LEFT = 2;
+	private static final int RIGHT = 3;
+	
 	PuzzleState parent;
 	byte[] board;//flatten board
 	int cost;
 	int delta;//cost change from last state
 	int estimate;
 	int depth;
+	int blank;//index of empty (0) tile
 	HeuristicType heuristic;
+	PuzzleGoal goal;
+	int[] estimates;//goal table of heuristic, [tile*n + pos]
+	PatternDatabase patterns;//goal pattern database, P1 and P2 only
+	int[] indexes;//pattern table index of each group, P1 and P2 only
 	
 	//public constructor to be called when problem is defined
 	//e.g. beginning, end  states with no parent, cost, delta, 
-	//estimate or depth.
+	//estimate or depth, solved toward the snail goal of 
+	//the board width
 	public PuzzleState(byte[] board, HeuristicType heuristic){
+		this(board, heuristic, PuzzleGoal.getSnailGoal((int) Math.sqrt(board.length)));
+	}
+	
+	//public constructor to be called when problem is defined
+	//e.g. beginning, end  states with no parent, cost, delta, 
+	//estimate or depth, solved toward goal
+	public PuzzleState(byte[] board, HeuristicType heuristic, PuzzleGoal goal){
+		if(goal.board.length != board.length)
+			throw new IllegalArgumentException("board and goal sizes differ");
 		this.parent = null;
 		this.board = Arrays.copyOf(board, board.length);
 		this.cost = 0;
 		this.delta = 0;
 		this.heuristic = heuristic;
+		this.goal = goal;
+		this.estimates = goal.getEstimates(heuristic);
+		this.patterns = goal.getPatternDatabase(heuristic);
+		this.indexes = patterns != null ? patterns.getIndexes(this.board) : null;
 		this.estimate = getEstimate();
 		this.depth = 0;
+		this.blank = getBlankIndex();
 		
 	}
 	
 	//private constructor to be called when a state is copying
-	//and mutating itself into sucessor states
-	private PuzzleState(PuzzleState parent, byte[] board, int cost, int delta, int depth, HeuristicType heuristic){
+	//and mutating itself into sucessor states, takes ownership
+	//of the already copied board and the incrementally
+	//updated estimate and pattern indexes
+	private PuzzleState(PuzzleState parent, byte[] board, int cost, int delta, int estimate, int[] indexes, int depth, int blank){
 		this.parent = parent;
-		this.board = Arrays.copyOf(board, board.length);
+		this.board = board;
 		this.cost = cost;
 		this.delta = delta;
-		this.heuristic = heuristic;
-		this.estimate = getEstimate();
+		this.heuristic = parent.heuristic;
+		this.goal = parent.goal;
+		this.estimates = parent.estimates;
+		this.patterns = parent.patterns;
+		this.indexes = indexes;
+		this.estimate = estimate;
 		this.depth = depth;
+		this.blank = blank;
+	}
+	
+	//private constructor to be called when a state is copying
+	//itself for in place mutation, keeping metadata but
+	//no parent reference
+	private PuzzleState(PuzzleState that){
+		this.parent = null;
+		this.board = Arrays.copyOf(that.board, that.board.length);
+		this.cost = that.cost;
+		this.delta = that.delta;
+		this.heuristic = that.heuristic;
+		this.goal = that.goal;
+		this.estimates = that.estimates;
+		this.patterns = that.patterns;
+		this.indexes = that.indexes != null ? that.indexes.clone() : null;
+		this.estimate = that.estimate;
+		this.depth = that.depth;
+		this.blank = that.blank;
 	}
 	
 	//equals
@@ -61,6 +120,55 @@ public class PuzzleState implements IState{
 		return Arrays.hashCode(board);
 	}
 	
+	//getKey
+	// pack board into a long, 4 bits per tile
+	// (exact for up to 4x4 boards), larger boards
+	// fold into a 64 bit hash
+	@Override
+	public long getKey(){
+		if(hasExactKey())
+			return pack(board);
+		long key = 1125899906842597L;
+		for(int i = 0; i < board.length; i++)
+			key = 31*key + board[i];
+		return key;
+	}
+	
+	//hasExactKey
+	// check board fits the packed key
+	@Override
+	public boolean hasExactKey(){
+		return board.length <= 16;
+	}
+	
+	//pack
+	// pack flatten board of up to 16 tiles
+	// into a long, 4 bits per tile
+	public static long pack(byte[] board){
+		long key = 0;
+		for(int i = 0; i < board.length; i++)
+			key |= (long)(board[i] & 0xf) << (i << 2);
+		return key;
+	}
+	
+	//unpack
+	// unpack long into a flatten board 
+	// of length tiles, 4 bits per tile
+	public static byte[] unpack(long key, int length){
+		byte[] board = new byte[length];
+		for(int i = 0; i < length; i++)
+			board[i] = (byte)((key >>> (i << 2)) & 0xf);
+		return board;
+	}
+	
+	//getUnpackedState
+	// get state of packed key with the
+	// heuristic and goal of this state
+	@Override
+	public IState getUnpackedState(long key){
+		return new PuzzleState(unpack(key, board.length), heuristic, goal);
+	}
+	
 	//toString
 	// implementation based on eight puzzle board
 	// and metadata of state
@@ -79,31 +187,39 @@ public class PuzzleState implements IState{
 	}
 	
 	//getSuccessors
-	// get all successor states by searching flattened 
-	// eight puzzle board for adjacent 0s and mutating current
-	// state into this new state when found
+	// get all successor states by sliding each tile
+	// adjacent to the tracked empty tile into it, in
+	// board index order of the sliding tile
 	@Override
 	public ArrayList<IState> getSuccessors() {
-		ArrayList<IState> successors = new ArrayList<IState>();
-		int k = (int) Math.sqrt(board.length);//assume board is always a NxN matrix
-		
-		//nested loop to handle flattened array
-		for(int i = 0; i < k; i++){
-			for(int j = 0; j < k; j++){
-				if(j < k -1 && board[k*i+j+1] == 0) //empty right
-					successors.add(getSuccesor(k*i+j, k*i+j+1));
-				else if(j > 0 && board[k*i+j-1] == 0)//empty left	
-					successors.add(getSuccesor(k*i+j, k*i+j-1));
-				else if(i < k -1 && board[k*(i+1)+j] == 0) //empty below
-					successors.add(getSuccesor(k*i+j, k*(i+1)+j));
-				else if(i > 0 && board[k*(i-1)+j] == 0) // empty above		
-					successors.add(getSuccesor(k*i+j, k*(i-1)+j));
-				
-			}
-		}		
+		ArrayList<IState> successors = new ArrayList<IState>(4);
+		int[] moves = new int[4];
+		int count = getMoves(moves);
+		for(int i = 0; i < count; i++)
+			successors.add(getSuccesor(blank + getMoveOffset(moves[i]), blank));
 		return successors;
 	}
 	
+	//getPredecessors
+	// get all states one slide before this one,
+	// a slide is undone by sliding the same tile
+	// back at the same cost
+	@Override
+	public ArrayList<IState> getPredecessors(){
+		return getSuccessors();
+	}
+	
+	//getReverseCopy
+	// get copy of current state without parent
+	// reference estimating toward the target board,
+	// P1 and P2 build a pattern database for it
+	@Override
+	public IReversibleState getReverseCopy(IState target){
+		if(!(target instanceof PuzzleState))
+			throw new IllegalArgumentException("reverse target is not a PuzzleState");
+		return new PuzzleState(board, heuristic, new PuzzleGoal(((PuzzleState)target).board));
+	}
+	
 	//getHeuisticType
 	// convert heuristic member into string representation
 	// for logging
@@ -126,7 +242,7 @@ public class PuzzleState implements IState{
 	// parent reference
 	@Override
 	public IState getUnboundCopy(){
-		return new PuzzleState(this.board, this.heuristic);
+		return new PuzzleState(this.board, this.heuristic, this.goal);
 	}
 	
 	//getDepth
@@ -176,11 +292,125 @@ public class PuzzleState implements IState{
 		return true;
 	}
 	
+	//getMaxMoves
+	// get most moves available from any state
+	@Override
+	public int getMaxMoves(){
+		return 4;
+	}
+	
+	//getMoves
+	// list directions the empty tile can travel
+	// into moves, returning the move count, listed
+	// in board index order of the sliding tile
+	@Override
+	public int getMoves(int[] moves){
+		int k = (int) Math.sqrt(board.length);//assume board is always a NxN matrix
+		int count = 0;
+		if(blank >= k)
+			moves[count++] = UP;
+		if(blank % k > 0)
+			moves[count++] = LEFT;
+		if(blank % k < k - 1)
+			moves[count++] = RIGHT;
+		if(blank < board.length - k)
+			moves[count++] = DOWN;
+		return count;
+	}
+	
+	//applyMove
+	// slide the tile next to the empty tile in
+	// direction move into it, updating cost, depth
+	// and the estimate by the moved tile only
+	@Override
+	public void applyMove(int move){
+		int to = blank + getMoveOffset(move);
+		byte val = board[to];
+		board[blank] = val;
+		board[to] = 0;
+		estimate += getTileEstimate(val, blank) - getTileEstimate(val, to);
+		if(patterns != null)
+			estimate += patterns.moveTile(indexes, val, to, blank);
+		cost += val;
+		delta = val;
+		depth++;
+		blank = to;
+	}
+	
+	//undoMove
+	// reverse applyMove of move, previous delta
+	// is not kept and is reset to zero
+	@Override
+	public void undoMove(int move){
+		int to = blank - getMoveOffset(move);
+		byte val = board[to];
+		board[blank] = val;
+		board[to] = 0;
+		estimate += getTileEstimate(val, blank) - getTileEstimate(val, to);
+		if(patterns != null)
+			estimate += patterns.moveTile(indexes, val, to, blank);
+		cost -= val;
+		delta = 0;
+		depth--;
+		blank = to;
+	}
+	
+	//getInverseMove
+	// get the move which undoes move
+	@Override
+	public int getInverseMove(int move){
+		return move ^ 1;
+	}
+	
+	//getMoveSuccessor
+	// create successor state for move
+	// with current state as parent
+	@Override
+	public IState getMoveSuccessor(int move){
+		return getSuccesor(blank + getMoveOffset(move), blank);
+	}
+	
+	//getMutableCopy
+	// get copy of current state for in place
+	// mutation without parent reference
+	@Override
+	public IMutableState getMutableCopy(){
+		return new PuzzleState(this);
+	}
+	
+	//getMoveOffset
+	// get flatten board offset the empty
+	// tile travels for move
+	private int getMoveOffset(int move){
+		int k = (int) Math.sqrt(board.length);//assume board is always a NxN matrix
+		switch(move){
+			case UP:
+				return -k;
+			case DOWN:
+				return k;
+			case LEFT:
+				return -1;
+			default:
+				return 1;
+		}
+	}
+	
+	//getBlankIndex
+	// scan board for the empty tile
+	private int getBlankIndex(){
+		for(int i = 0; i < board.length; i++){
+			if(board[i] == 0)
+				return i;
+		}
+		return -1;
+	}
+	
 	//getSuccesor
 	// create successor state by copying current 
 	// board (primitive does not require deep copy)
 	// swaping indexes to and from, passing to private board
-	// and metadata to private constructor
+	// and metadata to private constructor, only tile y
+	// moves so the estimate changes by its contribution
 	private PuzzleState getSuccesor(int to, int from){
 		byte[] tmp = Arrays.copyOf(board, board.length);
 		byte x = tmp[from];
@@ -188,101 +418,42 @@ public class PuzzleState implements IState{
 		tmp[from]= y;
 		tmp[to] = x;
 		
-		return new PuzzleState(this, tmp, cost+y, y, depth+1, this.heuristic);
+		int est = estimate + getTileEstimate(y, from) - getTileEstimate(y, to);
+		int[] moved = null;
+		if(patterns != null){
+			moved = indexes.clone();
+			est += patterns.moveTile(moved, y, to, from);
+		}
+		return new PuzzleState(this, tmp, cost+y, y, est, moved, depth+1, to);
 	}
 	
 	
 	//getEstimate
-	// hook method for calculating specific heuristic 
-	// estimate based on  HeuristicType enum field
+	// sum specific heuristic estimate of all tiles
+	// from the goal table of the HeuristicType field,
+	// or the goal pattern database for P1 and P2
 	private int getEstimate(){
-		if(this.heuristic.equals(HeuristicType.A1))
-			return getMisplacedEstimate();
-		else if(this.heuristic.equals(HeuristicType.A2))
-			return getManhattanDistanceEstimate();
-		else if(this.heuristic.equals(HeuristicType.A3))
-			return getManhattanCostEstimate();
-		else
-			return getZeroEstimate();
-	}
-	
-	//getSolutionIndex
-	// get board index of a specific val
-	// in the solution state
-	
-	// TODO: only works for eight puzzle
-	//  need to rework to handle NxN matrix
-	private int getSolutionIndex(int val){
-		if(val == 0)
-			return 4;
-		else if(val < 4 || val == 7)
-			return val - 1;
-		else if(val == 8)
-			return 3;
-		else if(val == 4)
-			return 5;
-		else if(val == 6)
-			return 7;
-		else if(val == 5)
-			return 8;	
-		else
-			return 0;
-	}	
-	
-	//getZeroEstimate
-	// return zero for algos that
-	// do not include an estimate
-	private int getZeroEstimate(){
-		return 0;
-	}
-	
-	//getMisplacedEstimate
-	// add the total number of  misplaced
-	// values for the current state
-	private int getMisplacedEstimate(){
+		if(patterns != null)
+			return patterns.getEstimate(board);
 		int est = 0;
-		for(int i = 0; i < board.length; i++){
-			int val = board[i];
-			if(val == 0)
-				continue;//ignore duplicate cost of zero
-			int pos = getSolutionIndex(val);
-			est += Math.abs(pos - i) == 0 ? 0 : 1;
-		}
+		for(int i = 0; i < board.length; i++)
+			est += getTileEstimate(board[i], i);
 		return est;
 	}
 	
-	//getMisplacedEstimate
-	// sum the Manhattan Distance for
-	// all values of the current state
-	private int getManhattanDistanceEstimate(){
-		int est = 0;
-		for(int i = 0; i < board.length; i++){
-			int val = board[i];
-			if(val == 0)
-				continue;//ignore duplicate cost of zero
-			int pos = getSolutionIndex(val);
-			
-			//Manhattan distance for flat board
-			est += (Math.abs(pos%3 - i%3) + Math.abs(pos/3 - i/3));
-		}
-		return est;
+	//getTileEstimate
+	// specific heuristic estimate contribution of value
+	// val at board index pos, looked up in the goal table,
+	// estimates are sums of tile contributions so a move
+	// changes the estimate by the moved tile only
+	private int getTileEstimate(int val, int pos){
+		return estimates[val*board.length + pos];
 	}
 	
-	//getMisplacedEstimate
-	// sum the value weighted Manhattan Distance for
-	// all values of the current state
-	private int getManhattanCostEstimate(){
-		int est = 0;
-		for(int i = 0; i < board.length; i++){
-			int val = board[i];
-			if(val == 0)
-				continue;//ignore duplicate cost of zero
-			int pos = getSolutionIndex(val);
-			
-			//Manhattan distance for flat board, weighted by value of position
-			est += (Math.abs(pos%3 - i%3) + Math.abs(pos/3 - i/3))*val;
-		}
-		return est;
+	//getGoal
+	// get goal the heuristic estimates toward
+	public PuzzleGoal getGoal(){
+		return goal;
 	}
 	
 }
@@ -2,10 +2,17 @@ package pathfinder.search;
 
 
 /*
- * AlgoType enum for search strategy
+ * AlgoType enum for search strategy, UCB and
+ * ASB are uniform cost and A star over an
+ * integer cost bucket queue, IDAS is iterative
+ * deepening A star over in place moves, HDAS is
+ * hash distributed (multi-threaded) A star, BBFS,
+ * BUC and BAS search from both ends of reversible
+ * problems, EBFS is breadth first search with
+ * its layers on disk
  * 
  */
 
 public enum AlgoType {
-	BFS, DFS, ID, UC, AS
+	BFS, DFS, ID, UC, AS, UCB, ASB, IDAS, HDAS, BBFS, BUC, BAS, EBFS
 }
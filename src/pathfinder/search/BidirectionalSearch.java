@@ -0,0 +1,158 @@
+package pathfinder.search;
+
+import java.util.HashMap;
+
+/*
+ * BidirectionalSearch class runs breadth first, uniform
+ * cost and front to end A star searches for the Solver
+ * class from both the problem and the solution, backward
+ * through IReversibleState predecessors, expanding the
+ * side with the smaller frontier until the two meet
+ *
+ * each side keeps its cheapest copy of every state seen,
+ * a successor seen by the other side is a meeting and
+ * bounds the best path, the search stops once neither
+ * frontier can hold a cheaper path: the sum of the least
+ * costs of the sides (BFS depths, UC costs) or the least
+ * total cost of a side (A star) reaches the bound
+ *
+ * the path is rebuilt forward from the meeting state along
+ * the backward path so its states carry forward costs
+ *
+ */
+class BidirectionalSearch {
+	private static final int FORWARD = 0;
+	private static final int BACKWARD = 1;
+
+	private AlgoType type;
+	private IFrontier[] toVisit = new IFrontier[2];
+	private HashMap<IState, IState> reachedForward = new HashMap<IState, IState>();//cheapest copy seen forward
+	private HashMap<IState, IState> reachedBackward = new HashMap<IState, IState>();//cheapest copy seen backward
+	private int[] last = new int[2];//key of last state polled by side
+	private int bound = Integer.MAX_VALUE;//cost of best meeting
+	private IState[] meeting = new IState[2];//best meeting state by side
+	private SearchStats stats;
+
+	BidirectionalSearch(AlgoType type, IState problem, IState solution, SearchConfig config){
+		if(!(problem instanceof IReversibleState) || !(solution instanceof IReversibleState))
+			throw new IllegalArgumentException("bidirectional search requires IReversibleState problem and solution");
+		this.type = type;
+		this.stats = new SearchStats(getName(type), config);
+		for(int side = FORWARD; side <= BACKWARD; side++)
+			toVisit[side] = type == AlgoType.BBFS ? new FifoFrontier()
+					: new IndexedHeapFrontier(type == AlgoType.BAS ? Solver.comparatorAS() : Solver.comparatorUC());
+
+		//backward A star estimates toward the problem
+		IState start = problem.getUnboundCopy();
+		IState end = type == AlgoType.BAS ? ((IReversibleState)solution).getReverseCopy(problem) : solution.getUnboundCopy();
+		add(FORWARD, start);
+		add(BACKWARD, end);
+	}
+
+	//solve
+	// expand the side with the smaller frontier
+	// until no cheaper meeting is possible
+	Solution solve(){
+		while(!toVisit[FORWARD].isEmpty() && !toVisit[BACKWARD].isEmpty()){
+			int side = toVisit[FORWARD].size() <= toVisit[BACKWARD].size() ? FORWARD : BACKWARD;
+			IState current = toVisit[side].poll();
+
+			//skip stale copy replaced by a cheaper one
+			if(getReached(side).get(current) != current){
+				stats.countDuplicate();
+				continue;
+			}
+
+			//stop when frontiers hold no cheaper path,
+			//last keys of a side only grow so bound its least
+			last[side] = getKey(current);
+			if(type == AlgoType.BAS ? last[side] >= bound : (long)last[side] + last[1 - side] >= bound)
+				break;
+
+			stats.countExpanded();
+			for(IState next : side == FORWARD ? current.getSuccessors() : ((IReversibleState)current).getPredecessors()){
+				stats.countGenerated();
+				if(!add(side, next))
+					stats.countDuplicate();
+			}
+			stats.updateOpen(toVisit[FORWARD].size() + toVisit[BACKWARD].size());
+		}
+		stats.updateClosed(reachedForward.size() + reachedBackward.size());
+		return Solver.getSolution(stats, meeting[FORWARD] == null ? null : join(meeting[FORWARD], meeting[BACKWARD]), null);
+	}
+
+	//add
+	// queue state on side unless a copy as cheap was
+	// seen, keeping the best meeting with the other
+	// side, returns false when state is a duplicate
+	private boolean add(int side, IState state){
+		IState seen = getReached(side).get(state);
+		if(seen != null && getCost(seen) <= getCost(state))
+			return false;
+		getReached(side).put(state, state);
+		toVisit[side].offer(state);
+
+		IState other = getReached(1 - side).get(state);
+		if(other != null && getCost(state) + getCost(other) < bound){
+			bound = getCost(state) + getCost(other);
+			meeting[side] = state;
+			meeting[1 - side] = other;
+		}
+		return true;
+	}
+
+	//getReached
+	// get cheapest copies seen by side
+	private HashMap<IState, IState> getReached(int side){
+		return side == FORWARD ? reachedForward : reachedBackward;
+	}
+
+	//join
+	// follow the backward path from the meeting
+	// state through forward successors so the
+	// end state links back to the problem
+	private static IState join(IState forward, IState backward){
+		IState current = forward;
+		for(IState next = backward.getParent(); next != null; next = next.getParent()){
+			IState successor = null;
+			for(IState candidate : current.getSuccessors()){
+				if(candidate.equals(next)){
+					successor = candidate;
+					break;
+				}
+			}
+			if(successor == null)
+				throw new IllegalStateException("predecessor is not reversed by a successor: " + next);
+			current = successor;
+		}
+		return current;
+	}
+
+	//getCost
+	// path cost of state, depth for
+	// breadth first search
+	private int getCost(IState state){
+		return type == AlgoType.BBFS ? state.getDepth() : state.getCurrentCost();
+	}
+
+	//getKey
+	// frontier order of state
+	private int getKey(IState state){
+		return type == AlgoType.BAS ? state.getTotalCost() : getCost(state);
+	}
+
+	//getName
+	// get display name of type
+	private static String getName(AlgoType type){
+		switch(type){
+			case BBFS:
+				return "Bidirectional Breadth First Search";
+			case BUC:
+				return "Bidirectional Uniform Cost";
+			case BAS:
+				return "Bidirectional A*";
+			default:
+				throw new IllegalArgumentException("unsupported bidirectional search type: " + type);
+		}
+	}
+}
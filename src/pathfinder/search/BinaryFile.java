@@ -0,0 +1,121 @@
+package pathfinder.search;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+/*
+ * BinaryFile class reads or writes primitives of
+ * search checkpoints and external search run files
+ * sequentially through a file channel and one direct
+ * buffer, big endian as ByteBuffer
+ * 
+ */
+class BinaryFile implements Closeable {
+	private static final int BUFFER_SIZE = 1 << 18;//256 kb, many run files are open at once
+	
+	private FileChannel channel;
+	private ByteBuffer buffer;
+	private boolean isWrite;
+	
+	//private constructor, buffer starts
+	//empty for reads and writes
+	private BinaryFile(FileChannel channel, boolean isWrite){
+		this.channel = channel;
+		this.isWrite = isWrite;
+		this.buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+		if(!isWrite)
+			buffer.flip();
+	}
+	
+	//create
+	// open file for writing, truncated
+	static BinaryFile create(File file) throws IOException{
+		return new BinaryFile(FileChannel.open(file.toPath(), StandardOpenOption.CREATE, 
+				StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE), true);
+	}
+	
+	//open
+	// open file for reading
+	static BinaryFile open(File file) throws IOException{
+		return new BinaryFile(FileChannel.open(file.toPath(), StandardOpenOption.READ), false);
+	}
+	
+	//putLong
+	// write v
+	void putLong(long v) throws IOException{
+		if(buffer.remaining() < 8)
+			flush();
+		buffer.putLong(v);
+	}
+	
+	//putInt
+	// write v
+	void putInt(int v) throws IOException{
+		if(buffer.remaining() < 4)
+			flush();
+		buffer.putInt(v);
+	}
+	
+	//getLong
+	// read next long
+	long getLong() throws IOException{
+		fill(8);
+		return buffer.getLong();
+	}
+	
+	//getInt
+	// read next int
+	int getInt() throws IOException{
+		fill(4);
+		return buffer.getInt();
+	}
+	
+	//force
+	// flush writes and sync them to disk,
+	// only for files that must survive a
+	// crash as temp run files are deleted
+	void force() throws IOException{
+		flush();
+		channel.force(true);
+	}
+	
+	//close
+	// flush writes to channel 
+	// and close it
+	@Override
+	public void close() throws IOException{
+		try{
+			if(isWrite)
+				flush();
+		}finally{
+			channel.close();
+		}
+	}
+	
+	//flush
+	// write buffered bytes to channel
+	private void flush() throws IOException{
+		buffer.flip();
+		while(buffer.hasRemaining())
+			channel.write(buffer);
+		buffer.clear();
+	}
+	
+	//fill
+	// read until n bytes are buffered
+	private void fill(int n) throws IOException{
+		if(buffer.remaining() >= n)
+			return;
+		buffer.compact();
+		while(buffer.position() < n){
+			if(channel.read(buffer) == -1)
+				throw new EOFException("file is truncated");
+		}
+		buffer.flip();
+	}
+}
@@ -0,0 +1,122 @@
+package pathfinder.search;
+
+import java.util.Arrays;
+
+/*
+ * BucketFrontier concrete implementation of IFrontier
+ * for small non-negative integer costs, an array of
+ * per cost buckets each split into per heuristic LIFO
+ * stacks, O(1) offer and amortized O(1) poll
+ * 
+ * equal states are not merged on offer, the Solver
+ * skips stale copies when they are polled
+ */
+public class BucketFrontier implements IFrontier {
+	private boolean isTotalCost;//rank by h+g (A star) or g (uniform cost)
+	private LifoFrontier[][] buckets;//[cost][heuristic]
+	private int[] bucketSizes;
+	private int[] minEstimates;//lowest possibly non-empty heuristic per cost
+	private int minCost;//lowest possibly non-empty cost
+	private int size;
+	
+	//public constructor, isTotalCost ranks states
+	//by getTotalCost for A star, otherwise by 
+	//getCurrentCost for uniform cost, ties broken
+	//on getHeuisticCost as comparatorAS
+	public BucketFrontier(boolean isTotalCost){
+		this.isTotalCost = isTotalCost;
+		this.buckets = new LifoFrontier[64][];
+		this.bucketSizes = new int[64];
+		this.minEstimates = new int[64];
+		this.minCost = 0;
+		this.size = 0;
+	}
+	
+	//offer
+	// push state on the stack for its 
+	// cost and heuristic estimate
+	@Override
+	public boolean offer(IState state){
+		int cost = isTotalCost ? state.getTotalCost() : state.getCurrentCost();
+		int estimate = state.getHeuisticCost();
+		if(cost < 0 || estimate < 0)
+			throw new IllegalArgumentException("bucket costs must be non-negative: " + state);
+		
+		if(cost >= buckets.length){
+			int n = Math.max(cost + 1, buckets.length << 1);
+			buckets = Arrays.copyOf(buckets, n);
+			bucketSizes = Arrays.copyOf(bucketSizes, n);
+			minEstimates = Arrays.copyOf(minEstimates, n);
+		}
+		LifoFrontier[] bucket = buckets[cost];
+		if(bucket == null)
+			bucket = buckets[cost] = new LifoFrontier[Math.max(estimate + 1, 8)];
+		else if(estimate >= bucket.length)
+			bucket = buckets[cost] = Arrays.copyOf(bucket, Math.max(estimate + 1, bucket.length << 1));
+		if(bucket[estimate] == null)
+			bucket[estimate] = new LifoFrontier();
+		
+		bucket[estimate].offer(state);
+		if(bucketSizes[cost]++ == 0 || estimate < minEstimates[cost])
+			minEstimates[cost] = estimate;
+		if(cost < minCost)
+			minCost = cost;//inconsistent heuristic can lower the minimum
+		size++;
+		return true;
+	}
+	
+	//poll
+	// pop state from the lowest heuristic stack
+	// of the lowest cost bucket
+	@Override
+	public IState poll(){
+		if(size == 0)
+			return null;
+		while(bucketSizes[minCost] == 0)
+			minCost++;
+		
+		LifoFrontier[] bucket = buckets[minCost];
+		int estimate = minEstimates[minCost];
+		while(bucket[estimate] == null || bucket[estimate].isEmpty())
+			estimate++;
+		minEstimates[minCost] = estimate;
+		
+		bucketSizes[minCost]--;
+		size--;
+		return bucket[estimate].poll();
+	}
+	
+	//isEmpty
+	// check for no queued states
+	@Override
+	public boolean isEmpty(){
+		return size == 0;
+	}
+	
+	//size
+	// get number of queued states
+	@Override
+	public int size(){
+		return size;
+	}
+	
+	//toArray
+	// get queued states of each stack
+	// bottom to top
+	@Override
+	public IState[] toArray(){
+		IState[] queued = new IState[size];
+		int n = 0;
+		for(LifoFrontier[] bucket : buckets){
+			if(bucket == null)
+				continue;
+			for(LifoFrontier stack : bucket){
+				if(stack == null)
+					continue;
+				for(IState state : stack.toArray())
+					queued[n++] = state;
+			}
+		}
+		return queued;
+	}
+}
@@ -0,0 +1,12 @@
+package pathfinder.search;
+
+/*
+ * ClosedSetType enum for the Solver visited table,
+ * AUTO picks PACKED for exact keyed states and HASH
+ * otherwise, DIRECT and MAPPED hold packed keys off
+ * heap in direct buffers or a memory mapped temp file
+ * 
+ */
+public enum ClosedSetType {
+	AUTO, HASH, PACKED, DIRECT, MAPPED
+}
@@ -0,0 +1,131 @@
+package pathfinder.search;
+
+/*
+ * CompactPathSearch class runs the frontier searches of the
+ * Solver class without parent references, so only queued
+ * states are held as objects while expanded ones are kept
+ * as primitive table entries
+ *
+ * successors are mutable copies with a move applied, each
+ * state reached has one packed int entry: the move into it,
+ * a closed flag and the cost it was reached at, a successor
+ * is queued only if not reached or reached at a higher cost
+ * by a state not closed, so the entry of a state is that of
+ * the copy polled first and is kept once it is closed
+ *
+ * the path is rebuilt by undoing entry moves back from the
+ * solution, then replaying them forward from the problem,
+ * both linear in its length
+ *
+ */
+class CompactPathSearch {
+	private static final int MOVE_MASK = 0xff;//moves of 0-254
+	private static final int ROOT = MOVE_MASK;//move of the problem entry
+	private static final int CLOSED = 1 << 8;
+	private static final int COST_SHIFT = 9;
+	private static final int MAX_COST = (1 << (32 - COST_SHIFT - 1)) - 1;
+	private static final int MISSING = -1;//costs are non-negative so entries are too
+
+	private IMutableState problem;
+	private IState solution;
+	private IFrontier toVisit;
+	private boolean isMarkOnQueue;//breadth first
+	private LongIntHashMap reached = new LongIntHashMap();
+	private int closed;
+	private SearchStats stats;
+
+	CompactPathSearch(String name, IState problem, IState solution, IFrontier toVisit, boolean isMarkOnQueue, SearchConfig config){
+		if(!(problem instanceof IMutableState) || !(problem instanceof IKeyedState) || !((IKeyedState)problem).hasExactKey())
+			throw new IllegalArgumentException("compact paths require exact keyed IMutableState states");
+		if(config.getClosedSetType() != ClosedSetType.AUTO && config.getClosedSetType() != ClosedSetType.PACKED)
+			throw new IllegalArgumentException("compact paths keep their own packed table, not a " + config.getClosedSetType() + " closed set");
+		this.problem = (IMutableState)problem;
+		this.solution = solution;
+		this.toVisit = toVisit;
+		this.isMarkOnQueue = isMarkOnQueue;
+		this.stats = new SearchStats(name, config);
+	}
+
+	//solve
+	// expand polled states until the solution,
+	// queueing detached successors
+	Solution solve(){
+		IMutableState start = problem.getMutableCopy();
+		toVisit.offer(start);
+		reached.put(getKey(start), pack(start.getCurrentCost(), 0) | ROOT);
+		int[] moves = new int[problem.getMaxMoves()];
+
+		while(!toVisit.isEmpty()){
+			IMutableState current = (IMutableState)toVisit.poll();
+			long key = getKey(current);
+			int entry = reached.get(key, MISSING);
+
+			//skip stale copy left by a frontier without decrease-key
+			if(!isMarkOnQueue && (entry & CLOSED) != 0){
+				stats.countDuplicate();
+				continue;
+			}
+			if(current.equals(solution))
+				return Solver.getSolution(stats, getPath(current), null);
+
+			stats.countExpanded();
+			int count = current.getMoves(moves);
+			for(int i = 0; i < count; i++){
+				stats.countGenerated();
+				IMutableState succesor = current.getMutableCopy();
+				succesor.applyMove(moves[i]);
+				long k = getKey(succesor);
+				int e = reached.get(k, MISSING);
+				if(e != MISSING && (isMarkOnQueue || (e & CLOSED) != 0 || e >>> COST_SHIFT <= succesor.getCurrentCost())){
+					stats.countDuplicate();
+					continue;
+				}
+				reached.put(k, pack(succesor.getCurrentCost(), moves[i]));
+				toVisit.offer(succesor);
+			}
+
+			//mark closed, entry keeps its move and cost
+			if(!isMarkOnQueue){
+				reached.put(key, entry | CLOSED);
+				closed++;
+			}
+			stats.updateOpen(toVisit.size());
+			stats.updateClosed(isMarkOnQueue ? reached.size() : closed);
+		}
+		return Solver.getSolution(stats, null, null);
+	}
+
+	//getPath
+	// undo entry moves from end back to the
+	// problem, then replay them forward as a
+	// bound successor chain of the problem
+	private IState getPath(IMutableState end){
+		int[] path = new int[end.getDepth() - problem.getDepth()];
+		int depth = 0;
+		for(int move; (move = reached.get(getKey(end), MISSING) & MOVE_MASK) != ROOT; depth++){
+			path[depth] = move;
+			end.undoMove(move);
+		}
+
+		IState state = problem;
+		for(int i = depth - 1; i >= 0; i--)
+			state = ((IMutableState)state).getMoveSuccessor(path[i]);
+		return state;
+	}
+
+	//pack
+	// entry of state reached at cost by move
+	private static int pack(int cost, int move){
+		if(cost < 0 || cost > MAX_COST)
+			throw new IllegalArgumentException("cost out of compact path range: " + cost);
+		if(move < 0 || move >= ROOT)
+			throw new IllegalArgumentException("move out of compact path range: " + move);
+		return cost << COST_SHIFT | move;
+	}
+
+	//getKey
+	// get key of exact keyed state
+	private static long getKey(IState state){
+		return ((IKeyedState)state).getKey();
+	}
+}
@@ -0,0 +1,65 @@
+package pathfinder.search;
+
+import java.util.HashMap;
+
+/*
+ * DepthClosedSet concrete implementation of IClosedSet
+ * for depth limited searches, each state is held with
+ * the least depth it was reached at and a state is seen
+ * only if reached at no greater depth, so a deeper copy
+ * visited first does not hide a shallower path
+ *
+ * exact keyed states are held as primitive key to depth
+ * entries, others as unbound copies
+ *
+ */
+class DepthClosedSet implements IClosedSet {
+	private LongIntHashMap keyDepths;//exact keyed states
+	private HashMap<IState, Integer> depths;//other states
+
+	DepthClosedSet(IState problem){
+		if(problem instanceof IKeyedState && ((IKeyedState)problem).hasExactKey())
+			keyDepths = new LongIntHashMap();
+		else
+			depths = new HashMap<IState, Integer>();
+	}
+
+	//add
+	// mark state visited at its depth, false if
+	// already visited at no greater depth
+	@Override
+	public boolean add(IState state){
+		if(contains(state))
+			return false;
+		if(keyDepths != null)
+			keyDepths.put(((IKeyedState)state).getKey(), state.getDepth());
+		else
+			depths.put(state.getUnboundCopy(), state.getDepth());
+		return true;
+	}
+
+	//contains
+	// check if state was visited at
+	// no greater depth
+	@Override
+	public boolean contains(IState state){
+		return getDepth(state) <= state.getDepth();
+	}
+
+	//getDepth
+	// get least depth state was visited
+	// at, or max int if not visited
+	int getDepth(IState state){
+		if(keyDepths != null)
+			return keyDepths.get(((IKeyedState)state).getKey(), Integer.MAX_VALUE);
+		Integer depth = depths.get(state);
+		return depth != null ? depth : Integer.MAX_VALUE;
+	}
+
+	//size
+	// get number of visited states
+	@Override
+	public int size(){
+		return keyDepths != null ? keyDepths.size() : depths.size();
+	}
+}
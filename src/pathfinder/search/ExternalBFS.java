@@ -0,0 +1,381 @@
+package pathfinder.search;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/*
+ * ExternalBFS class runs breadth first search for the Solver
+ * class with its layers on disk instead of open and closed
+ * lists in memory, so a sweep of a whole state space is
+ * bounded by disk rather than RAM
+ *
+ * each layer is a file of sorted packed keys, successors of
+ * a layer are sorted in memory a run at a time into run
+ * files, then merged into the next layer dropping repeats
+ * and the keys of the layer expanded and the one before it
+ * (delayed duplicate detection): when every move can be
+ * undone a state seen before is in one of those two layers
+ *
+ * files are read and written sequentially through buffered
+ * channels and kept until the search ends, the path is
+ * rebuilt backward from the solution by looking up a
+ * predecessor of each state in the layer above it
+ *
+ */
+class ExternalBFS {
+	private static final int RUN_STATES = 1 << 22;//keys sorted in memory per run, 32 mb
+	private static final int FAN_IN = 64;//run files merged at once
+
+	private IUnpackableState problem;
+	private long solutionKey;
+	private SearchStats stats;
+	private ArrayList<ILayerListener> listeners;
+	private File tempDir;//parent of the search directory
+	private File dir;//files of the search, deleted when done
+	private ArrayList<File> layers = new ArrayList<File>();
+	private ArrayList<File> runs = new ArrayList<File>();
+	private long[] run = new long[1024];//keys of the run being generated
+	private int runSize;
+	private int files;//files created, for names
+
+	ExternalBFS(IState problem, IState solution, SearchConfig config){
+		if(!(problem instanceof IUnpackableState) || !(problem instanceof IReversibleState)
+				|| !((IKeyedState)problem).hasExactKey())
+			throw new IllegalArgumentException("external breadth first search requires exact keyed IUnpackableState and IReversibleState states");
+		if(!(solution instanceof IKeyedState) || !((IKeyedState)solution).hasExactKey())
+			throw new IllegalArgumentException("external breadth first search requires an exact keyed solution");
+		this.problem = (IUnpackableState)problem;
+		this.solutionKey = ((IKeyedState)solution).getKey();
+		this.stats = new SearchStats("External Breadth First Search", config);
+		this.listeners = config.getLayerListeners();
+		this.tempDir = config.getTempDir() != null ? config.getTempDir() : new File(System.getProperty("java.io.tmpdir"));
+	}
+
+	//solve
+	// expand a layer at a time until the
+	// solution is reached or a layer is empty,
+	// deleting the files of the search
+	Solution solve(){
+		try{
+			dir = Files.createTempDirectory(tempDir.toPath(), "bfs").toFile();
+			try{
+				return search();
+			}finally{
+				delete();
+			}
+		}catch(IOException e){
+			throw new UncheckedIOException("external search failed in " + tempDir, e);
+		}
+	}
+
+	//search
+	// expand each layer into run files
+	// merged into the next layer
+	private Solution search() throws IOException{
+		File first = newFile();
+		try(BinaryFile out = BinaryFile.create(first)){
+			out.putLong(problem.getKey());
+		}
+		layers.add(first);
+		finishLayer(0, 1);
+
+		for(int depth = 0; ; depth++){
+			if(expand(layers.get(depth)))
+				return Solver.getSolution(stats, getPath(depth), null);
+			if(runSize > 0)
+				writeRun();
+
+			File next = mergeLayer(depth);
+			long size = getSize(next);
+			stats.updateOpen(size);
+			stats.updateClosed(getSize(layers.get(depth)) + (depth > 0 ? getSize(layers.get(depth - 1)) : 0));
+			if(size == 0)
+				return Solver.getSolution(stats, null, null);
+			layers.add(next);
+			finishLayer(depth + 1, size);
+		}
+	}
+
+	//expand
+	// add successor keys of each state of
+	// layer to runs, true if the solution
+	// is in layer
+	private boolean expand(File layer) throws IOException{
+		try(BinaryFile in = BinaryFile.open(layer)){
+			for(long n = getSize(layer); n > 0; n--){
+				long key = in.getLong();
+				if(key == solutionKey)
+					return true;
+				stats.countExpanded();
+				for(IState succesor : problem.getUnpackedState(key).getSuccessors()){
+					stats.countGenerated();
+					addKey(((IKeyedState)succesor).getKey());
+				}
+			}
+		}
+		return false;
+	}
+
+	//addKey
+	// add key to the run, growing it up to
+	// RUN_STATES keys, then writing it out
+	private void addKey(long key) throws IOException{
+		if(runSize == run.length){
+			if(run.length < RUN_STATES)
+				run = Arrays.copyOf(run, run.length*2);
+			else
+				writeRun();
+		}
+		run[runSize++] = key;
+	}
+
+	//writeRun
+	// sort keys of the run and write
+	// them to a run file without repeats
+	private void writeRun() throws IOException{
+		Arrays.sort(run, 0, runSize);
+		File file = newFile();
+		try(BinaryFile out = BinaryFile.create(file)){
+			for(int i = 0; i < runSize; i++){
+				if(i > 0 && run[i] == run[i - 1]){
+					stats.countDuplicate();
+					continue;
+				}
+				out.putLong(run[i]);
+			}
+		}
+		runs.add(file);
+		runSize = 0;
+	}
+
+	//mergeLayer
+	// merge runs into the layer after depth, less
+	// keys of the layer at depth and the one before,
+	// runs past FAN_IN are merged in passes first
+	private File mergeLayer(int depth) throws IOException{
+		while(runs.size() > FAN_IN){
+			ArrayList<File> merged = new ArrayList<File>();
+			for(int i = 0; i < runs.size(); i += FAN_IN)
+				merged.add(merge(runs.subList(i, Math.min(i + FAN_IN, runs.size())), new ArrayList<File>()));
+			runs = merged;
+		}
+		ArrayList<File> previous = new ArrayList<File>();
+		previous.add(layers.get(depth));
+		if(depth > 0)
+			previous.add(layers.get(depth - 1));
+		File next = merge(runs, previous);
+		runs = new ArrayList<File>();
+		return next;
+	}
+
+	//merge
+	// merge sorted inputs into one sorted file
+	// without repeats or keys of the sorted
+	// excluded files, deleting the inputs
+	private File merge(List<File> inputs, List<File> excluded) throws IOException{
+		File file = newFile();
+		ArrayList<KeyReader> readers = new ArrayList<KeyReader>();
+		try{
+			PriorityQueue<KeyReader> heads = new PriorityQueue<KeyReader>(Math.max(1, inputs.size()), new Comparator<KeyReader>(){
+				public int compare(KeyReader a, KeyReader b){
+					return Long.compare(a.head, b.head);
+				}
+			});
+			for(File input : inputs){
+				KeyReader reader = new KeyReader(input);
+				readers.add(reader);
+				if(reader.next())
+					heads.add(reader);
+			}
+			KeyReader[] seen = new KeyReader[excluded.size()];
+			for(int i = 0; i < seen.length; i++){
+				seen[i] = new KeyReader(excluded.get(i));
+				readers.add(seen[i]);
+				seen[i].next();
+			}
+
+			try(BinaryFile out = BinaryFile.create(file)){
+				boolean isFirst = true;
+				long last = 0;
+				while(!heads.isEmpty()){
+					KeyReader reader = heads.poll();
+					long key = reader.head;
+					if(reader.next())
+						heads.add(reader);
+					boolean isRepeat = !isFirst && key == last;
+					isFirst = false;
+					last = key;
+					if(isRepeat || contains(seen, key)){
+						stats.countDuplicate();
+						continue;
+					}
+					out.putLong(key);
+				}
+			}
+		}finally{
+			for(KeyReader reader : readers)
+				reader.close();
+		}
+		for(File input : inputs)
+			Files.delete(input.toPath());
+		return file;
+	}
+
+	//contains
+	// check if key is in one of the sorted
+	// readers, keys checked only grow so
+	// readers are advanced up to key
+	private static boolean contains(KeyReader[] readers, long key) throws IOException{
+		for(KeyReader reader : readers){
+			while(reader.hasHead && reader.head < key)
+				reader.next();
+			if(reader.hasHead && reader.head == key)
+				return true;
+		}
+		return false;
+	}
+
+	//getPath
+	// rebuild the path to the solution at depth
+	// backward through predecessors found in each
+	// layer above, then forward from the problem
+	private IState getPath(int depth) throws IOException{
+		long[] keys = new long[depth + 1];
+		keys[depth] = solutionKey;
+		for(int d = depth; d > 0; d--)
+			keys[d - 1] = getPredecessor(keys[d], layers.get(d - 1));
+
+		IState end = problem;
+		for(int d = 1; d <= depth; d++)
+			end = getSuccessor(end, keys[d]);
+		return end;
+	}
+
+	//getPredecessor
+	// get key of a predecessor of the state
+	// of key that is in layer
+	private long getPredecessor(long key, File layer) throws IOException{
+		IState state = problem.getUnpackedState(key);
+		for(IState predecessor : ((IReversibleState)state).getPredecessors()){
+			long k = ((IKeyedState)predecessor).getKey();
+			if(search(layer, k))
+				return k;
+		}
+		throw new IllegalStateException("no predecessor in layer above state: " + state);
+	}
+
+	//getSuccessor
+	// successor of parent with key
+	private static IState getSuccessor(IState parent, long key){
+		for(IState successor : parent.getSuccessors()){
+			if(((IKeyedState)successor).getKey() == key)
+				return successor;
+		}
+		throw new IllegalStateException("path state is not a successor of its parent: " + parent);
+	}
+
+	//search
+	// binary search sorted layer for key
+	// by positional reads
+	private static boolean search(File layer, long key) throws IOException{
+		try(FileChannel channel = FileChannel.open(layer.toPath(), StandardOpenOption.READ)){
+			ByteBuffer buffer = ByteBuffer.allocate(8);
+			long low = 0;
+			long high = (channel.size() >>> 3) - 1;
+			while(low <= high){
+				long mid = (low + high) >>> 1;
+				buffer.clear();
+				while(buffer.hasRemaining()){
+					if(channel.read(buffer, (mid << 3) + buffer.position()) == -1)
+						throw new EOFException("layer is truncated: " + layer);
+				}
+				long k = buffer.getLong(0);
+				if(k < key)
+					low = mid + 1;
+				else if(k > key)
+					high = mid - 1;
+				else
+					return true;
+			}
+		}
+		return false;
+	}
+
+	//finishLayer
+	// pass count of states at depth
+	// to layer listeners
+	private void finishLayer(int depth, long states){
+		for(ILayerListener listener : listeners)
+			listener.onLayerFinished(depth, states, stats);
+	}
+
+	//newFile
+	// get new file of the search directory
+	private File newFile(){
+		return new File(dir, "keys" + files++);
+	}
+
+	//getSize
+	// get count of keys of file
+	private static long getSize(File file){
+		return file.length() >>> 3;
+	}
+
+	//delete
+	// delete files of the search
+	private void delete() throws IOException{
+		File[] remaining = dir.listFiles();
+		if(remaining != null){
+			for(File file : remaining)
+				Files.deleteIfExists(file.toPath());
+		}
+		Files.deleteIfExists(dir.toPath());
+	}
+
+	/*
+	 * KeyReader class reads the sorted keys of a
+	 * file one at a time, head is the current key
+	 */
+	private static class KeyReader implements Closeable {
+		BinaryFile in;
+		long remaining;
+		long head;
+		boolean hasHead;
+
+		KeyReader(File file) throws IOException{
+			this.remaining = getSize(file);
+			this.in = BinaryFile.open(file);
+		}
+
+		//next
+		// read next key into head, false
+		// if none are left
+		boolean next() throws IOException{
+			hasHead = remaining > 0;
+			if(hasHead){
+				head = in.getLong();
+				remaining--;
+			}
+			return hasHead;
+		}
+
+		//close
+		// close file
+		@Override
+		public void close() throws IOException{
+			in.close();
+		}
+	}
+}
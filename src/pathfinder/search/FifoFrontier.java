@@ -0,0 +1,88 @@
+package pathfinder.search;
+
+/*
+ * FifoFrontier concrete implementation of IFrontier
+ * backed by an array ring deque, amortized O(1) offer
+ * and poll for breadth first search
+ * 
+ */
+public class FifoFrontier implements IFrontier {
+	private IState[] states;
+	private int head;//index of next state to poll
+	private int size;
+	
+	public FifoFrontier(){
+		this(16);
+	}
+	
+	//public constructor with initial capacity
+	//rounded up to a power of two for index masking
+	public FifoFrontier(int capacity){
+		int n = 16;
+		while(n < capacity)
+			n <<= 1;
+		this.states = new IState[n];
+		this.head = 0;
+		this.size = 0;
+	}
+	
+	//offer
+	// append state to tail of deque
+	@Override
+	public boolean offer(IState state){
+		if(size == states.length)
+			grow();
+		states[(head + size) & (states.length - 1)] = state;
+		size++;
+		return true;
+	}
+	
+	//poll
+	// remove state from head of deque
+	@Override
+	public IState poll(){
+		if(size == 0)
+			return null;
+		IState state = states[head];
+		states[head] = null;//release reference for gc
+		head = (head + 1) & (states.length - 1);
+		size--;
+		return state;
+	}
+	
+	//isEmpty
+	// check for no queued states
+	@Override
+	public boolean isEmpty(){
+		return size == 0;
+	}
+	
+	//size
+	// get number of queued states
+	@Override
+	public int size(){
+		return size;
+	}
+	
+	//toArray
+	// get queued states head to tail
+	@Override
+	public IState[] toArray(){
+		IState[] queued = new IState[size];
+		for(int i = 0; i < size; i++)
+			queued[i] = states[(head + i) & (states.length - 1)];
+		return queued;
+	}
+	
+	//grow
+	// double ring capacity, unwrapping
+	// queued states to start at index 0
+	private void grow(){
+		IState[] tmp = new IState[states.length << 1];
+		int tail = states.length - head;
+		System.arraycopy(states, head, tmp, 0, tail);
+		System.arraycopy(states, 0, tmp, tail, head);
+		states = tmp;
+		head = 0;
+	}
+}
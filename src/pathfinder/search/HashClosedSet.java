@@ -0,0 +1,37 @@
+package pathfinder.search;
+
+import java.util.HashSet;
+
+/*
+ * HashClosedSet concrete implementation of IClosedSet
+ * for any IState, holds an unbound (no parent) copy
+ * of each visited state
+ * 
+ */
+public class HashClosedSet implements IClosedSet {
+	private HashSet<IState> states = new HashSet<IState>();
+	
+	//add
+	// create unbound (no parent copy) to reduce memory
+	// for visited checking
+	@Override
+	public boolean add(IState state){
+		if(states.contains(state))
+			return false;
+		return states.add(state.getUnboundCopy());
+	}
+	
+	//contains
+	// check if equal state was visited
+	@Override
+	public boolean contains(IState state){
+		return states.contains(state);
+	}
+	
+	//size
+	// get number of visited states
+	@Override
+	public int size(){
+		return states.size();
+	}
+}
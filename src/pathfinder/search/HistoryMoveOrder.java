@@ -0,0 +1,32 @@
+package pathfinder.search;
+
+/*
+ * HistoryMoveOrder concrete implementation of IMoveOrder
+ * ranking moves by how often and how deep they caused a
+ * cutoff anywhere in the tree (depth squared per cutoff),
+ * moves are identified as by KillerMoveOrder
+ * 
+ */
+public class HistoryMoveOrder implements IMoveOrder {
+	private static final int MAX_SCORE = 1 << 30;//forget all scores past this
+	
+	private LongIntHashMap scores = new LongIntHashMap();
+	
+	//rank
+	// get history score of move
+	@Override
+	public int rank(IState state, IState successor, int ply){
+		return scores.get(KillerMoveOrder.getMove(state, successor), 0);
+	}
+	
+	//update
+	// add depth squared to history score of move
+	@Override
+	public void update(IState state, IState successor, int ply, int depth){
+		long move = KillerMoveOrder.getMove(state, successor);
+		int score = scores.get(move, 0) + depth*depth;
+		scores.put(move, score);
+		if(score > MAX_SCORE)
+			scores.clear();//restart history before overflow
+	}
+}
@@ -0,0 +1,12 @@
+package pathfinder.search;
+
+/*
+ * IClosedSet interface for the set of
+ * states already visited by the Solver class
+ * 
+ */
+public interface IClosedSet {
+	public boolean add(IState state);
+	public boolean contains(IState state);
+	public int size();
+}
@@ -0,0 +1,25 @@
+package pathfinder.search;
+
+/*
+ * IFrontier interface for the open list of
+ * states waiting to be visited by the Solver
+ * class (FIFO, LIFO or priority ordered)
+ * 
+ * toArray lists queued states in an order that
+ * offered back into an empty frontier of the same
+ * type rebuilds the same queue, frontiers that
+ * do not list their states cannot be checkpointed
+ * 
+ */
+public interface IFrontier {
+	public boolean offer(IState state);
+	public IState poll();
+	public boolean isEmpty();
+	public int size();
+	
+	//toArray
+	// queued states in rebuild order
+	public default IState[] toArray(){
+		throw new UnsupportedOperationException("checkpoint not supported by " + getClass().getName());
+	}
+}
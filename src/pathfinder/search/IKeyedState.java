@@ -0,0 +1,13 @@
+package pathfinder.search;
+
+/*
+ * IKeyedState interface for IState implementations
+ * that can expose a primitive 64 bit key, exact keys
+ * (one key per distinct state) let the Solver keep
+ * visited tables as primitive hash maps
+ * 
+ */
+public interface IKeyedState extends IState {
+	public long getKey();
+	public boolean hasExactKey();
+}
@@ -0,0 +1,12 @@
+package pathfinder.search;
+
+/*
+ * ILayerListener interface for progress of external
+ * breadth first searches, passed the count of states
+ * of each depth as the layer is finished and the
+ * SearchStats so far, added through SearchConfig
+ * 
+ */
+public interface ILayerListener {
+	public void onLayerFinished(int depth, long states, SearchStats stats);
+}
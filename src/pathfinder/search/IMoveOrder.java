@@ -0,0 +1,13 @@
+package pathfinder.search;
+
+/*
+ * IMoveOrder interface for minmax move ordering in
+ * the Solver class, successors ranked higher are
+ * searched first, orders are told of successors
+ * that caused an alpha-beta cutoff
+ * 
+ */
+public interface IMoveOrder {
+	public int rank(IState state, IState successor, int ply);
+	public void update(IState state, IState successor, int ply, int depth);
+}
@@ -0,0 +1,19 @@
+package pathfinder.search;
+
+/*
+ * IMutableState interface for IState implementations
+ * that can apply and undo moves in place, moves are
+ * small ints listed into a caller owned array so the
+ * Solver can walk a search tree without allocating
+ * a state per node
+ * 
+ */
+public interface IMutableState extends IState {
+	public int getMaxMoves();
+	public int getMoves(int[] moves);
+	public void applyMove(int move);
+	public void undoMove(int move);
+	public int getInverseMove(int move);
+	public IState getMoveSuccessor(int move);
+	public IMutableState getMutableCopy();
+}
@@ -0,0 +1,19 @@
+package pathfinder.search;
+
+import java.util.ArrayList;
+
+/*
+ * IReversibleState interface for IState implementations
+ * that can list the states one move before them, so the
+ * Solver can also search backward from the solution
+ * 
+ * predecessors have the state as parent and the cost of
+ * the state plus their move into it, i.e. the cost from
+ * them to where the backward search began, estimates of
+ * a reverse copy are toward its target
+ * 
+ */
+public interface IReversibleState extends IState {
+	public ArrayList<IState> getPredecessors();
+	public IReversibleState getReverseCopy(IState target);
+}
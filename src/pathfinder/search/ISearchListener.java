@@ -0,0 +1,11 @@
+package pathfinder.search;
+
+/*
+ * ISearchListener interface for export of the
+ * SearchStats of each finished Solver search,
+ * solved or not, added through SearchConfig
+ * 
+ */
+public interface ISearchListener {
+	public void onSearchFinished(SearchStats stats);
+}
@@ -0,0 +1,14 @@
+package pathfinder.search;
+
+/*
+ * IUnpackableState interface for IKeyedState implementations
+ * with exact keys that can rebuild the state of a key, so
+ * the Solver can keep states on disk as keys alone
+ * 
+ * unpacked states have no parent, cost or depth and share
+ * the settings (heuristic, goal) of the state unpacking
+ * 
+ */
+public interface IUnpackableState extends IKeyedState {
+	public IState getUnpackedState(long key);
+}
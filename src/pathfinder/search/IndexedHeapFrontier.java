@@ -0,0 +1,137 @@
+package pathfinder.search;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+
+/*
+ * IndexedHeapFrontier concrete implementation of IFrontier
+ * backed by a binary heap with a state to heap slot index,
+ * offering an already queued state is an O(log n) decrease-key
+ * instead of a linear remove and re-insert
+ * 
+ */
+public class IndexedHeapFrontier implements IFrontier {
+	private IState[] heap;
+	private HashMap<IState, Integer> index;//state to heap slot
+	private Comparator<IState> comparator;
+	private int size;
+	
+	public IndexedHeapFrontier(Comparator<IState> comparator){
+		this.heap = new IState[16];
+		this.index = new HashMap<IState, Integer>();
+		this.comparator = comparator;
+		this.size = 0;
+	}
+	
+	//offer
+	// insert state, or if an equal state is already
+	// queued replace it when the new one ranks lower
+	// (cheaper path) and sift it up, returns false
+	// when the queued state is kept
+	@Override
+	public boolean offer(IState state){
+		Integer slot = index.get(state);
+		if(slot != null){
+			int i = slot.intValue();
+			if(comparator.compare(state, heap[i]) >= 0)
+				return false;//existing is cheaper, ignore new
+			index.remove(heap[i]);//drop stale key, new state carries new parent
+			heap[i] = state;
+			index.put(state, i);
+			siftUp(i);
+			return true;
+		}
+		
+		if(size == heap.length)
+			heap = Arrays.copyOf(heap, size << 1);
+		heap[size] = state;
+		index.put(state, size);
+		siftUp(size++);
+		return true;
+	}
+	
+	//poll
+	// remove least cost state
+	@Override
+	public IState poll(){
+		if(size == 0)
+			return null;
+		IState state = heap[0];
+		index.remove(state);
+		IState last = heap[--size];
+		heap[size] = null;//release reference for gc
+		if(size > 0){
+			heap[0] = last;
+			index.put(last, 0);
+			siftDown(0);
+		}
+		return state;
+	}
+	
+	//contains
+	// check if equal state is queued
+	public boolean contains(IState state){
+		return index.containsKey(state);
+	}
+	
+	//isEmpty
+	// check for no queued states
+	@Override
+	public boolean isEmpty(){
+		return size == 0;
+	}
+	
+	//size
+	// get number of queued states
+	@Override
+	public int size(){
+		return size;
+	}
+	
+	//toArray
+	// get queued states in heap slot order,
+	// offered in order each stays in its slot
+	@Override
+	public IState[] toArray(){
+		return Arrays.copyOf(heap, size);
+	}
+	
+	//siftUp
+	// move state at slot i toward root
+	// until heap order holds
+	private void siftUp(int i){
+		IState state = heap[i];
+		while(i > 0){
+			int parent = (i - 1) >>> 1;
+			if(comparator.compare(state, heap[parent]) >= 0)
+				break;
+			heap[i] = heap[parent];
+			index.put(heap[i], i);
+			i = parent;
+		}
+		heap[i] = state;
+		index.put(state, i);
+	}
+	
+	//siftDown
+	// move state at slot i toward leaves
+	// until heap order holds
+	private void siftDown(int i){
+		IState state = heap[i];
+		int half = size >>> 1;
+		while(i < half){
+			int child = (i << 1) + 1;
+			int right = child + 1;
+			if(right < size && comparator.compare(heap[right], heap[child]) < 0)
+				child = right;
+			if(comparator.compare(state, heap[child]) <= 0)
+				break;
+			heap[i] = heap[child];
+			index.put(heap[i], i);
+			i = child;
+		}
+		heap[i] = state;
+		index.put(state, i);
+	}
+}
@@ -0,0 +1,68 @@
+package pathfinder.search;
+
+import java.util.Arrays;
+
+/*
+ * KillerMoveOrder concrete implementation of IMoveOrder
+ * ranking first the last two moves that caused a cutoff
+ * at the same ply, a move is identified by the key change
+ * it makes to an IKeyedState (e.g. the Zobrist key of the
+ * placed piece), otherwise by the hash change
+ * 
+ */
+public class KillerMoveOrder implements IMoveOrder {
+	private long[][] killers;//[ply][slot], newest in slot 0
+	private boolean[][] isSet;
+	
+	public KillerMoveOrder(){
+		this.killers = new long[16][2];
+		this.isSet = new boolean[16][2];
+	}
+	
+	//rank
+	// rank newest killer 2, older 1, others 0
+	@Override
+	public int rank(IState state, IState successor, int ply){
+		if(ply >= killers.length)
+			return 0;
+		long move = getMove(state, successor);
+		if(isSet[ply][0] && killers[ply][0] == move)
+			return 2;
+		if(isSet[ply][1] && killers[ply][1] == move)
+			return 1;
+		return 0;
+	}
+	
+	//update
+	// make cutoff move newest killer of ply
+	@Override
+	public void update(IState state, IState successor, int ply, int depth){
+		if(ply >= killers.length){
+			int n = Math.max(ply + 1, killers.length << 1);
+			killers = Arrays.copyOf(killers, n);
+			isSet = Arrays.copyOf(isSet, n);
+			for(int i = 0; i < n; i++){
+				if(killers[i] == null){
+					killers[i] = new long[2];
+					isSet[i] = new boolean[2];
+				}
+			}
+		}
+		long move = getMove(state, successor);
+		if(isSet[ply][0] && killers[ply][0] == move)
+			return;
+		killers[ply][1] = killers[ply][0];
+		isSet[ply][1] = isSet[ply][0];
+		killers[ply][0] = move;
+		isSet[ply][0] = true;
+	}
+	
+	//getMove
+	// identify move from state to successor
+	// by the change of its key
+	static long getMove(IState state, IState successor){
+		if(state instanceof IKeyedState && successor instanceof IKeyedState)
+			return ((IKeyedState)state).getKey() ^ ((IKeyedState)successor).getKey();
+		return state.hashCode() ^ successor.hashCode();
+	}
+}
@@ -0,0 +1,61 @@
+package pathfinder.search;
+
+import java.util.Arrays;
+
+/*
+ * LifoFrontier concrete implementation of IFrontier
+ * backed by an array stack for depth first and
+ * iterative deepening search
+ * 
+ */
+public class LifoFrontier implements IFrontier {
+	private IState[] states;
+	private int size;
+	
+	public LifoFrontier(){
+		this.states = new IState[16];
+		this.size = 0;
+	}
+	
+	//offer
+	// push state on top of stack
+	@Override
+	public boolean offer(IState state){
+		if(size == states.length)
+			states = Arrays.copyOf(states, size << 1);
+		states[size++] = state;
+		return true;
+	}
+	
+	//poll
+	// pop state from top of stack
+	@Override
+	public IState poll(){
+		if(size == 0)
+			return null;
+		IState state = states[--size];
+		states[size] = null;//release reference for gc
+		return state;
+	}
+	
+	//isEmpty
+	// check for no queued states
+	@Override
+	public boolean isEmpty(){
+		return size == 0;
+	}
+	
+	//size
+	// get number of queued states
+	@Override
+	public int size(){
+		return size;
+	}
+	
+	//toArray
+	// get queued states bottom to top
+	@Override
+	public IState[] toArray(){
+		return Arrays.copyOf(states, size);
+	}
+}
@@ -0,0 +1,153 @@
+package pathfinder.search;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/*
+ * LongIntHashMap open addressing (linear probing)
+ * primitive long to int hash map, key 0 marks an
+ * empty slot and is held out of the table
+ * 
+ */
+class LongIntHashMap {
+	private static final float LOAD = 0.5f;
+	
+	private long[] keys;
+	private int[] values;
+	private int mask;
+	private int size;
+	private boolean hasZeroKey;
+	private int zeroValue;
+	
+	LongIntHashMap(){
+		this(16);
+	}
+	
+	//package constructor with expected entry count
+	LongIntHashMap(int expected){
+		int n = 16;
+		while(n * LOAD < expected)
+			n <<= 1;
+		this.keys = new long[n];
+		this.values = new int[n];
+		this.mask = n - 1;
+		this.size = 0;
+	}
+	
+	//get
+	// get value for key, or missing
+	// if key is not mapped
+	int get(long key, int missing){
+		if(key == 0)
+			return hasZeroKey ? zeroValue : missing;
+		int i = slot(key);
+		while(keys[i] != 0){
+			if(keys[i] == key)
+				return values[i];
+			i = (i + 1) & mask;
+		}
+		return missing;
+	}
+	
+	//containsKey
+	// check if key is mapped
+	boolean containsKey(long key){
+		if(key == 0)
+			return hasZeroKey;
+		int i = slot(key);
+		while(keys[i] != 0){
+			if(keys[i] == key)
+				return true;
+			i = (i + 1) & mask;
+		}
+		return false;
+	}
+	
+	//put
+	// map key to value, replacing
+	// any existing value
+	void put(long key, int value){
+		if(key == 0){
+			if(!hasZeroKey)
+				size++;
+			hasZeroKey = true;
+			zeroValue = value;
+			return;
+		}
+		int i = slot(key);
+		while(keys[i] != 0){
+			if(keys[i] == key){
+				values[i] = value;
+				return;
+			}
+			i = (i + 1) & mask;
+		}
+		keys[i] = key;
+		values[i] = value;
+		if(++size > keys.length * LOAD)
+			rehash(keys.length << 1);
+	}
+	
+	//size
+	// get number of mapped keys
+	int size(){
+		return size;
+	}
+	
+	//write
+	// write entry count then each
+	// key and value
+	void write(BinaryFile out) throws IOException{
+		out.putLong(size);
+		if(hasZeroKey){
+			out.putLong(0);
+			out.putInt(zeroValue);
+		}
+		for(int i = 0; i < keys.length; i++){
+			if(keys[i] == 0)
+				continue;
+			out.putLong(keys[i]);
+			out.putInt(values[i]);
+		}
+	}
+	
+	//clear
+	// unmap all keys, keeping capacity
+	void clear(){
+		Arrays.fill(keys, 0);
+		size = 0;
+		hasZeroKey = false;
+	}
+	
+	//slot
+	// home slot of key, murmur3 finalizer
+	// to spread packed board bits
+	private int slot(long key){
+		key ^= key >>> 33;
+		key *= 0xff51afd7ed558ccdL;
+		key ^= key >>> 33;
+		key *= 0xc4ceb9fe1a85ec53L;
+		key ^= key >>> 33;
+		return (int)key & mask;
+	}
+	
+	//rehash
+	// move all entries into a table of capacity n
+	private void rehash(int n){
+		long[] oldKeys = keys;
+		int[] oldValues = values;
+		keys = new long[n];
+		values = new int[n];
+		mask = n - 1;
+		for(int j = 0; j < oldKeys.length; j++){
+			long key = oldKeys[j];
+			if(key == 0)
+				continue;
+			int i = slot(key);
+			while(keys[i] != 0)
+				i = (i + 1) & mask;
+			keys[i] = key;
+			values[i] = oldValues[j];
+		}
+	}
+}
@@ -0,0 +1,61 @@
+package pathfinder.search;
+
+/*
+ * MinMaxContext class holds the state shared by the
+ * nodes of one minmax search in the Solver class, the
+ * transposition table, the wall clock deadline of time
+ * bounded searches, move ordering and pruning counts
+ *
+ */
+class MinMaxContext {
+	private static final int CLOCK_MASK = 1023;//read the clock every 1024 nodes
+
+	TranspositionTable table;//null for none
+	boolean hasDeadline;
+	long deadline;//System.nanoTime() to stop at
+	boolean isTimeout;
+	boolean isDepthBound;//a leaf was cut by the depth limit
+	int rootMove = -1;//root successor searched first, -1 for none
+	int rootBest = -1;//best root successor of the last search, -1 for none
+	int rootDepth;//depth of the current search, ply = rootDepth - depth
+	IMoveOrder[] orders;//ranked in turn after the table move
+	PruningStats stats;//counts of the current search
+	long ticks;//nodes since the deadline was set
+
+	//package constructor for one root search,
+	//entries of earlier searches of table
+	//become replaceable
+	MinMaxContext(TranspositionTable table, IMoveOrder[] orders){
+		this.table = table;
+		this.orders = orders;
+		if(table != null)
+			table.newSearch();
+	}
+
+	//start
+	// reset counts for a search to depth
+	void start(int depth){
+		this.rootDepth = depth;
+		this.rootBest = -1;
+		this.stats = new PruningStats(depth);
+	}
+
+	//setDeadline
+	// stop searching millis from now
+	void setDeadline(long millis){
+		this.hasDeadline = true;
+		this.deadline = System.nanoTime() + millis*1000000L;
+	}
+
+	//isTimeout
+	// count node and check deadline, once
+	// timed out the search unwinds and its
+	// result is discarded
+	boolean isTimeout(){
+		if(isTimeout)
+			return true;
+		if(hasDeadline && (++ticks & CLOCK_MASK) == 0 && System.nanoTime() - deadline > 0)
+			isTimeout = true;
+		return isTimeout;
+	}
+}
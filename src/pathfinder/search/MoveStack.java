@@ -0,0 +1,44 @@
+package pathfinder.search;
+
+import java.util.Arrays;
+
+/*
+ * MoveStack class holds the moves applied along the
+ * current search path and a reusable move list per
+ * depth for in place (IMutableState) tree search
+ * 
+ */
+class MoveStack {
+	int[] path;//move applied at each depth
+	int[][] moves;//move list buffer per depth
+	int maxMoves;
+	
+	MoveStack(int maxMoves){
+		this.maxMoves = maxMoves;
+		this.path = new int[64];
+		this.moves = new int[64][];
+	}
+	
+	//getMoves
+	// get move list buffer for depth,
+	// growing the stack as needed
+	int[] getMoves(int depth){
+		if(depth >= moves.length){
+			moves = Arrays.copyOf(moves, Math.max(depth + 1, moves.length << 1));
+			path = Arrays.copyOf(path, moves.length);
+		}
+		if(moves[depth] == null)
+			moves[depth] = new int[maxMoves];
+		return moves[depth];
+	}
+	
+	//replay
+	// rebuild bound successor chain of start
+	// from the first depth moves of path
+	IState replay(IMutableState start, int depth){
+		IState state = start;
+		for(int i = 0; i < depth; i++)
+			state = ((IMutableState)state).getMoveSuccessor(path[i]);
+		return state;
+	}
+}
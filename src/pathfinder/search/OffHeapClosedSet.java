@@ -0,0 +1,220 @@
+package pathfinder.search;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/*
+ * OffHeapClosedSet concrete implementation of IClosedSet
+ * for IKeyedState with exact keys, an open addressing
+ * (linear probing) table of packed keys held outside the
+ * java heap in segments of direct byte buffers or of a
+ * memory mapped temp file, key 0 marks an empty slot
+ * 
+ */
+public class OffHeapClosedSet implements IClosedSet, Closeable {
+	private static final int SEGMENT_BITS = 24;//2^24 slots, 128 mb per segment
+	private static final int SEGMENT_SLOTS = 1 << SEGMENT_BITS;
+	private static final double LOAD = 0.5;
+	
+	private File tempDir;//null for direct buffers
+	private FileChannel channel;
+	private ByteBuffer[] segments;
+	private long mask;
+	private long size;
+	private boolean hasZeroKey;
+	
+	//public constructor, tempDir null for direct
+	//buffers, otherwise a memory mapped file created
+	//(and deleted on close) in tempDir
+	public OffHeapClosedSet(long expectedStates, File tempDir){
+		this.tempDir = tempDir;
+		long n = 1024;
+		while(n * LOAD < expectedStates)
+			n <<= 1;
+		allocate(n);
+	}
+	
+	//add
+	// mark key of state visited
+	@Override
+	public boolean add(IState state){
+		return add(((IKeyedState)state).getKey());
+	}
+	
+	//add
+	// mark key visited
+	private boolean add(long key){
+		if(key == 0){
+			if(hasZeroKey)
+				return false;
+			hasZeroKey = true;
+			size++;
+			return true;
+		}
+		long i = slot(key);
+		long k;
+		while((k = get(i)) != 0){
+			if(k == key)
+				return false;
+			i = (i + 1) & mask;
+		}
+		put(i, key);
+		if(++size > (mask + 1) * LOAD)
+			rehash();
+		return true;
+	}
+	
+	//contains
+	// check if key of state was visited
+	@Override
+	public boolean contains(IState state){
+		long key = ((IKeyedState)state).getKey();
+		if(key == 0)
+			return hasZeroKey;
+		long i = slot(key);
+		long k;
+		while((k = get(i)) != 0){
+			if(k == key)
+				return true;
+			i = (i + 1) & mask;
+		}
+		return false;
+	}
+	
+	//size
+	// get number of visited states,
+	// saturated at Integer.MAX_VALUE
+	@Override
+	public int size(){
+		return (int)Math.min(size, Integer.MAX_VALUE);
+	}
+	
+	//write
+	// write count then each key, costs
+	// are not kept and written as zero
+	void write(BinaryFile out) throws IOException{
+		out.putLong(size);
+		if(hasZeroKey){
+			out.putLong(0);
+			out.putInt(0);
+		}
+		for(long i = 0; i <= mask; i++){
+			long key = get(i);
+			if(key == 0)
+				continue;
+			out.putLong(key);
+			out.putInt(0);
+		}
+	}
+	
+	//read
+	// mark visited each key written
+	// by write
+	void read(BinaryFile in) throws IOException{
+		for(long n = in.getLong(); n > 0; n--){
+			add(in.getLong());
+			in.getInt();
+		}
+	}
+	
+	//close
+	// release segments and mapped file
+	@Override
+	public void close(){
+		segments = null;
+		closeChannel(channel);
+		channel = null;
+	}
+	
+	//get
+	// read key at slot i
+	private long get(long i){
+		return segments[(int)(i >>> SEGMENT_BITS)].getLong((int)(i & (SEGMENT_SLOTS - 1)) << 3);
+	}
+	
+	//put
+	// write key at slot i
+	private void put(long i, long key){
+		segments[(int)(i >>> SEGMENT_BITS)].putLong((int)(i & (SEGMENT_SLOTS - 1)) << 3, key);
+	}
+	
+	//slot
+	// home slot of key, murmur3 finalizer
+	// to spread packed board bits
+	private long slot(long key){
+		key ^= key >>> 33;
+		key *= 0xff51afd7ed558ccdL;
+		key ^= key >>> 33;
+		key *= 0xc4ceb9fe1a85ec53L;
+		key ^= key >>> 33;
+		return key & mask;
+	}
+	
+	//allocate
+	// allocate zeroed segments for n slots
+	private void allocate(long n){
+		int segmentSlots = (int)Math.min(n, SEGMENT_SLOTS);
+		int count = (int)(n / segmentSlots);
+		long bytes = (long)segmentSlots << 3;
+		segments = new ByteBuffer[count];
+		mask = n - 1;
+		try{
+			if(tempDir == null){
+				for(int i = 0; i < count; i++)
+					segments[i] = ByteBuffer.allocateDirect((int)bytes);
+				channel = null;
+			}else{
+				Path file = Files.createTempFile(tempDir.toPath(), "closed", ".set");
+				channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE, 
+						StandardOpenOption.DELETE_ON_CLOSE);
+				//new file is sparse, mapped pages read as zero
+				for(int i = 0; i < count; i++)
+					segments[i] = channel.map(FileChannel.MapMode.READ_WRITE, i * bytes, bytes);
+			}
+		}catch(IOException e){
+			throw new UncheckedIOException("cannot allocate closed set of " + n + " slots", e);
+		}
+	}
+	
+	//rehash
+	// move all keys into a table of twice the slots
+	private void rehash(){
+		ByteBuffer[] oldSegments = segments;
+		FileChannel oldChannel = channel;
+		long oldSlots = mask + 1;
+		allocate(oldSlots << 1);
+		for(int s = 0; s < oldSegments.length; s++){
+			ByteBuffer segment = oldSegments[s];
+			int slots = segment.capacity() >>> 3;
+			for(int j = 0; j < slots; j++){
+				long key = segment.getLong(j << 3);
+				if(key == 0)
+					continue;
+				long i = slot(key);
+				while(get(i) != 0)
+					i = (i + 1) & mask;
+				put(i, key);
+			}
+		}
+		closeChannel(oldChannel);
+	}
+	
+	//closeChannel
+	// close mapped file channel, deleting the file
+	private static void closeChannel(FileChannel channel){
+		if(channel == null)
+			return;
+		try{
+			channel.close();
+		}catch(IOException e){
+			//temp file is deleted on close, nothing to recover
+		}
+	}
+}
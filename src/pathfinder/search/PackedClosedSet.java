@@ -0,0 +1,62 @@
+package pathfinder.search;
+
+import java.io.IOException;
+
+/*
+ * PackedClosedSet concrete implementation of IClosedSet
+ * for IKeyedState with exact keys, visited states are
+ * held as primitive key to cost entries with no
+ * per state object
+ * 
+ */
+public class PackedClosedSet implements IClosedSet {
+	private LongIntHashMap costs = new LongIntHashMap();
+	
+	//add
+	// mark key of state visited at its current cost
+	@Override
+	public boolean add(IState state){
+		long key = ((IKeyedState)state).getKey();
+		if(costs.containsKey(key))
+			return false;
+		costs.put(key, state.getCurrentCost());
+		return true;
+	}
+	
+	//contains
+	// check if key of state was visited
+	@Override
+	public boolean contains(IState state){
+		return costs.containsKey(((IKeyedState)state).getKey());
+	}
+	
+	//getCost
+	// get cost state was visited at, or
+	// -1 if not visited
+	public int getCost(IState state){
+		return costs.get(((IKeyedState)state).getKey(), -1);
+	}
+	
+	//size
+	// get number of visited states
+	@Override
+	public int size(){
+		return costs.size();
+	}
+	
+	//write
+	// write count then each key and cost
+	void write(BinaryFile out) throws IOException{
+		costs.write(out);
+	}
+	
+	//read
+	// mark visited each key and
+	// cost written by write
+	void read(BinaryFile in) throws IOException{
+		for(long n = in.getLong(); n > 0; n--){
+			long key = in.getLong();
+			costs.put(key, in.getInt());
+		}
+	}
+}
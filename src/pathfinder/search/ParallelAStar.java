@@ -0,0 +1,243 @@
+package pathfinder.search;
+
+import java.util.HashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/*
+ * ParallelAStar class runs hash distributed A star (HDA*)
+ * for the Solver class, each worker thread owns the states
+ * whose hash maps to it with its own open list and best
+ * cost table, successors owned by another worker are sent
+ * to its lock free inbound queue
+ *
+ * workers keep searching after a solution is found until
+ * no worker holds a state cheaper than it and no state is
+ * in flight, so the solution is optimal for admissible
+ * heuristics
+ */
+class ParallelAStar {
+	private IState solution;
+	private Worker[] workers;
+	private AtomicLong active;//busy workers plus states in flight
+	private volatile boolean isDone;
+	private AtomicInteger bestCost;//cost of best solution found
+	private IState best;//guarded by this
+	private AtomicReference<Throwable> failure;
+	private SearchStats stats;
+
+	ParallelAStar(IState problem, IState solution, SearchConfig config){
+		int threads = config.getThreads();
+		if(threads < 1)
+			throw new IllegalArgumentException("thread count must be positive: " + threads);
+		this.solution = solution;
+		this.stats = new SearchStats("Hash Distributed A*", config);
+		this.workers = new Worker[threads];
+		for(int i = 0; i < threads; i++)
+			workers[i] = new Worker(problem instanceof IKeyedState && ((IKeyedState)problem).hasExactKey());
+		this.active = new AtomicLong(threads + 1);//all busy, problem in flight
+		this.bestCost = new AtomicInteger(Integer.MAX_VALUE);
+		this.failure = new AtomicReference<Throwable>();
+		workers[getOwner(problem)].inbox.offer(problem);
+	}
+
+	//solve
+	// run workers to termination and
+	// collect the best solution found
+	Solution solve(){
+		Thread[] threads = new Thread[workers.length];
+		for(int i = 0; i < workers.length; i++){
+			threads[i] = new Thread(workers[i], "hda-worker-" + i);
+			threads[i].start();
+		}
+
+		boolean isInterrupted = false;
+		for(int i = 0; i < threads.length; i++){
+			try{
+				threads[i].join();
+			}catch(InterruptedException e){
+				isInterrupted = true;
+				isDone = true;//stop workers, then keep joining
+				i--;
+			}
+		}
+		if(isInterrupted)
+			Thread.currentThread().interrupt();
+
+		//counts summed over workers
+		for(Worker worker : workers){
+			worker.stats.updateClosed(worker.keyedCosts != null ? worker.keyedCosts.size() : worker.costs.size());
+			stats.add(worker.stats);
+		}
+
+		Throwable t = failure.get();
+		if(t instanceof SearchLimitException){
+			stats.isLimitReached = true;
+			stats.finish(null);
+			throw new SearchLimitException(stats);
+		}
+		if(t instanceof RuntimeException)
+			throw (RuntimeException)t;
+		if(t instanceof Error)
+			throw (Error)t;
+		return Solver.getSolution(stats, isInterrupted ? null : best, null);
+	}
+
+	//getOwner
+	// worker index of state, from the high bits
+	// of a murmur3 finalized key or hash so the
+	// owner's cost table (low bits) stays spread
+	private int getOwner(IState state){
+		long h = state instanceof IKeyedState ? ((IKeyedState)state).getKey() : state.hashCode();
+		h ^= h >>> 33;
+		h *= 0xff51afd7ed558ccdL;
+		h ^= h >>> 33;
+		h *= 0xc4ceb9fe1a85ec53L;
+		h ^= h >>> 33;
+		return (int)((h >>> 32) % workers.length);
+	}
+
+	//offerSolution
+	// keep state if it is the cheapest
+	// solution found so far
+	private synchronized void offerSolution(IState state){
+		if(state.getCurrentCost() < bestCost.get()){
+			best = state;
+			bestCost.set(state.getCurrentCost());
+		}
+	}
+
+	/*
+	 * Worker class holds the open list and best
+	 * cost table of the states one thread owns
+	 */
+	private class Worker implements Runnable {
+		ConcurrentLinkedQueue<IState> inbox = new ConcurrentLinkedQueue<IState>();
+		IFrontier toVisit = new IndexedHeapFrontier(Solver.comparatorAS());
+		LongIntHashMap keyedCosts;//exact keyed states
+		HashMap<IState, Integer> costs;//other states, unbound copies
+		SearchStats stats = new SearchStats(ParallelAStar.this.stats, workers.length);
+		boolean isBusy = true;
+
+		Worker(boolean isKeyed){
+			if(isKeyed)
+				keyedCosts = new LongIntHashMap();
+			else
+				costs = new HashMap<IState, Integer>();
+		}
+
+		//run
+		// search, stopping all workers
+		// on failure
+		@Override
+		public void run(){
+			try{
+				search();
+			}catch(Throwable t){
+				failure.compareAndSet(null, t);
+				isDone = true;
+			}
+		}
+
+		//search
+		// take in received states and expand owned
+		// states until all workers are idle with
+		// no state in flight
+		private void search(){
+			while(!isDone){
+				IState received;
+				while((received = inbox.poll()) != null){
+					if(!isBusy){//wake before the received state stops counting
+						isBusy = true;
+						active.incrementAndGet();
+					}
+					add(received);
+					active.decrementAndGet();
+				}
+
+				IState current = toVisit.poll();
+				if(current != null){
+					expand(current);
+				}else if(isBusy){
+					isBusy = false;
+					if(active.decrementAndGet() == 0)
+						isDone = true;
+				}else if(active.get() == 0){
+					isDone = true;
+				}else{
+					Thread.yield();
+				}
+			}
+		}
+
+		//add
+		// queue owned state if it is the cheapest
+		// path to it seen, reopening expanded states
+		private void add(IState state){
+			if(state.getTotalCost() >= bestCost.get())
+				return;
+			int cost = getCost(state);
+			if(cost != -1 && cost <= state.getCurrentCost()){
+				stats.countDuplicate();
+				return;
+			}
+			putCost(state);
+			toVisit.offer(state);
+		}
+
+		//expand
+		// check state for solution, or send its
+		// successors to their owners
+		private void expand(IState current){
+			//prune states no cheaper than best solution,
+			//skip copies a cheaper path replaced
+			if(current.getTotalCost() >= bestCost.get())
+				return;
+			if(current.getCurrentCost() > getCost(current)){
+				stats.countDuplicate();
+				return;
+			}
+
+			if(current.equals(solution)){
+				offerSolution(current);
+				return;
+			}
+
+			stats.countExpanded();
+			for(IState succesor : current.getSuccessors()){
+				stats.countGenerated();
+				if(succesor.getTotalCost() >= bestCost.get())
+					continue;
+				Worker owner = workers[getOwner(succesor)];
+				if(owner == this){
+					add(succesor);
+				}else{
+					active.incrementAndGet();//count before it can be taken
+					owner.inbox.offer(succesor);
+				}
+			}
+			stats.updateOpen(toVisit.size());
+		}
+
+		//getCost
+		// get cheapest cost state was queued
+		// at, or -1 if never queued
+		private int getCost(IState state){
+			if(keyedCosts != null)
+				return keyedCosts.get(((IKeyedState)state).getKey(), -1);
+			Integer cost = costs.get(state);
+			return cost == null ? -1 : cost.intValue();
+		}
+
+		//putCost
+		// record current cost of state
+		private void putCost(IState state){
+			if(keyedCosts != null)
+				keyedCosts.put(((IKeyedState)state).getKey(), state.getCurrentCost());
+			else
+				costs.put(state.getUnboundCopy(), state.getCurrentCost());
+		}
+	}
+}
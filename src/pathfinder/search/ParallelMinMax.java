@@ -0,0 +1,240 @@
+package pathfinder.search;
+
+import java.util.ArrayList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/*
+ * ParallelMinMax class runs minmax with alpha-beta pruning
+ * for the Solver class on a fork-join pool, young brothers
+ * wait: at each node with enough depth left the eldest child
+ * is searched first to set the bound, then its siblings are
+ * searched in parallel sharing the node's bound as they finish,
+ * a sibling cutoff aborts the rest of the node
+ *
+ * root siblings are all searched against the eldest child's
+ * bound so the chosen move is the one the sequential search
+ * chooses
+ */
+class ParallelMinMax {
+	private static final int SPLIT_DEPTH = 3;//least depth left to search siblings in parallel
+
+	private ForkJoinPool pool;
+
+	ParallelMinMax(int threads){
+		if(threads < 1)
+			throw new IllegalArgumentException("thread count must be positive: " + threads);
+		this.pool = new ForkJoinPool(threads);
+	}
+
+	//solve
+	// best successor of start searched
+	// to depth, or start if it has none
+	IState solve(IState start, int depth){
+		try{
+			if(depth == 0)
+				return start.getUnboundCopy();
+			ArrayList<IState> successors = start.getSuccessors();
+			if(successors.size() == 0)
+				return start.getUnboundCopy();
+
+			Root root = new Root(successors, depth);
+			pool.invoke(root);
+			return root.best.getUnboundCopy();
+		}finally{
+			pool.shutdown();
+		}
+	}
+
+	//search
+	// minmax score of start to depth with
+	// alpha-beta pruning as Solver.solveMinMax,
+	// splitting siblings when enough depth is left
+	private int search(IState start, int lb, int ub, int depth, boolean isMax, Split parent){
+		//return if max search depth reached
+		if(depth == 0)
+			return start.getCurrentCost();
+
+		//get successors and return if non-exist
+		ArrayList<IState> successors = start.getSuccessors();
+		if(successors.size() == 0)
+			return start.getCurrentCost();
+
+		if(depth < SPLIT_DEPTH || successors.size() == 1)
+			return searchSequential(successors, lb, ub, depth, isMax, parent);
+
+		//young brothers wait for the eldest
+		Split node = new Split(lb, ub, isMax, parent);
+		node.update(search(successors.get(0), lb, ub, depth-1, !isMax, parent));
+		if(node.isCutoff)
+			return node.optimal;
+
+		ArrayList<Sibling> siblings = new ArrayList<Sibling>(successors.size() - 1);
+		for(int i = 1; i < successors.size(); i++)
+			siblings.add(new Sibling(successors.get(i), 0, 0, depth-1, !isMax, node));
+		RecursiveAction.invokeAll(siblings);
+		return node.optimal;
+	}
+
+	//searchSequential
+	// alternating min/max over successors on the
+	// current thread, stopping if an enclosing
+	// split was cut off
+	private int searchSequential(ArrayList<IState> successors, int lb, int ub, int depth, boolean isMax, Split parent){
+		Integer optimal = null;
+		for(IState succesor : successors){
+			if(parent != null && parent.isAborted())
+				return optimal == null ? 0 : optimal;//score is discarded
+			int score = search(succesor, lb, ub, depth-1, !isMax, parent);
+			boolean optimalFound = false;
+
+			if(optimal == null || (isMax && score > optimal) || (!isMax && score < optimal)){
+				optimal = score;
+				optimalFound = true;
+			}
+
+			if(isMax && optimalFound){
+				if(optimal > ub)//check for prune opportunity
+					return optimal;
+				lb = optimal;//reset lower prune bound
+			}else if(!isMax && optimalFound){
+				if(optimal < lb)//check for prune opportunity
+					return optimal;
+				ub = optimal;//reset upper prune bound
+			}
+		}
+		return optimal;
+	}
+
+	/*
+	 * Split class holds the bounds and optimal score
+	 * of a node whose siblings are searched in parallel
+	 */
+	private static class Split {
+		int lb;
+		int ub;
+		int optimal;
+		boolean isMax;
+		boolean hasOptimal;
+		volatile boolean isCutoff;
+		Split parent;
+
+		Split(int lb, int ub, boolean isMax, Split parent){
+			this.lb = lb;
+			this.ub = ub;
+			this.isMax = isMax;
+			this.parent = parent;
+		}
+
+		//update
+		// fold finished child score into optimal
+		// and bounds as the sequential loop does
+		synchronized void update(int score){
+			if(isCutoff)
+				return;
+			if(hasOptimal && (isMax ? score <= optimal : score >= optimal))
+				return;
+			optimal = score;
+			hasOptimal = true;
+			if(isMax){
+				if(optimal > ub)//check for prune opportunity
+					isCutoff = true;
+				lb = optimal;//reset lower prune bound
+			}else{
+				if(optimal < lb)//check for prune opportunity
+					isCutoff = true;
+				ub = optimal;//reset upper prune bound
+			}
+		}
+
+		//isAborted
+		// check if this or an enclosing
+		// split was cut off
+		boolean isAborted(){
+			for(Split split = this; split != null; split = split.parent){
+				if(split.isCutoff)
+					return true;
+			}
+			return false;
+		}
+	}
+
+	/*
+	 * Root class searches the successors of the start
+	 * state, eldest first then its siblings in parallel
+	 * against the eldest's score as lower bound
+	 */
+	private class Root extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+
+		ArrayList<IState> successors;
+		int depth;
+		IState best;
+
+		Root(ArrayList<IState> successors, int depth){
+			this.successors = successors;
+			this.depth = depth;
+		}
+
+		@Override
+		protected void compute(){
+			int lb = search(successors.get(0), Integer.MIN_VALUE, Integer.MAX_VALUE, depth-1, false, null);
+			ArrayList<Sibling> siblings = new ArrayList<Sibling>(successors.size() - 1);
+			for(int i = 1; i < successors.size(); i++)
+				siblings.add(new Sibling(successors.get(i), lb, Integer.MAX_VALUE, depth-1, false, null));
+			invokeAll(siblings);
+
+			//first successor of highest score, as the sequential search
+			int optimal = lb;
+			best = successors.get(0);
+			for(int i = 0; i < siblings.size(); i++){
+				if(siblings.get(i).score > optimal){
+					optimal = siblings.get(i).score;
+					best = successors.get(i + 1);
+				}
+			}
+		}
+	}
+
+	/*
+	 * Sibling class searches one younger child of a
+	 * split, reading the split's bounds when it starts
+	 */
+	private class Sibling extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+
+		IState state;
+		int lb;
+		int ub;
+		int depth;
+		boolean isMax;
+		Split node;
+		int score;
+
+		Sibling(IState state, int lb, int ub, int depth, boolean isMax, Split node){
+			this.state = state;
+			this.lb = lb;
+			this.ub = ub;
+			this.depth = depth;
+			this.isMax = isMax;
+			this.node = node;
+		}
+
+		@Override
+		protected void compute(){
+			if(node == null){//root sibling, fixed bounds
+				score = search(state, lb, ub, depth, isMax, null);
+				return;
+			}
+			if(node.isAborted())
+				return;
+			synchronized(node){
+				lb = node.lb;
+				ub = node.ub;
+			}
+			score = search(state, lb, ub, depth, isMax, node);
+			if(!node.isAborted())
+				node.update(score);
+		}
+	}
+}
@@ -0,0 +1,257 @@
+package pathfinder.search;
+
+import java.util.ArrayList;
+
+/*
+ * PrincipalVariationSearch class runs negamax principal
+ * variation search for the Solver class, in place on an
+ * IMutableState copy of the start, deepened one ply at a
+ * time: the first move of a node is searched with the
+ * full window, the rest with a null window around alpha
+ * and searched again only if they beat it
+ *
+ * each iteration after the first searches an aspiration
+ * window around the previous score, widened on a miss,
+ * the best line found is kept in a triangular table
+ *
+ * the root is the max player as in Solver.solveMinMax,
+ * the transposition table holds scores and bounds from
+ * the max player's view so a table is shared with it
+ *
+ * with move orders, moves after the table move are ranked
+ * on successor copies as in Solver.solveMinMax and orders
+ * are told about each cutoff, without them moves are
+ * searched in place in generated order
+ *
+ */
+class PrincipalVariationSearch {
+	private static final int INFINITY = 1 << 29;//beyond any score, negatable
+	private static final int WINDOW = 16;//first aspiration half width
+
+	private IMutableState start;
+	private IMutableState current;
+	private MinMaxContext context;
+	private MoveStack stack;
+	private int[][] pv;//best line from each ply
+	private int[] pvLength;//end ply of each line
+
+	PrincipalVariationSearch(IMutableState start, TranspositionTable table, IMoveOrder[] orders){
+		this.start = start;
+		this.current = start.getMutableCopy();
+		this.context = new MinMaxContext(table, orders);
+		this.stack = new MoveStack(current.getMaxMoves());
+		this.pv = new int[0][];
+		this.pvLength = new int[0];
+	}
+
+	//solve
+	// deepen to maxDepth until millis run out,
+	// no time limit if millis is not positive,
+	// returning the principal variation of the
+	// deepest completed iteration
+	Solution solve(int maxDepth, long millis){
+		long begin = System.nanoTime();
+		int[] line = new int[0];
+		PruningStats stats = null;
+		int score = 0;
+
+		for(int depth = 1; depth <= Math.max(1, maxDepth); depth++){
+			context.isDepthBound = false;
+			context.start(depth);
+			grow(depth);
+
+			//aspiration window around previous score,
+			//widened on the side it missed
+			int window = WINDOW;
+			int alpha = depth == 1 ? -INFINITY : score - window;
+			int beta = depth == 1 ? INFINITY : score + window;
+			int value;
+			while(true){
+				value = search(depth, alpha, beta, 1, 0, true);
+				if(context.isTimeout)
+					break;
+				if(value <= alpha && alpha > -INFINITY){
+					alpha = Math.max(-INFINITY, value - (window *= 4));
+					context.stats.researches++;
+				}else if(value >= beta && beta < INFINITY){
+					beta = Math.min(INFINITY, value + (window *= 4));
+					context.stats.researches++;
+				}else{
+					break;
+				}
+			}
+			if(context.isTimeout)
+				break;//incomplete search, keep last result
+			score = value;
+			stats = context.stats;
+			line = new int[pvLength[0]];
+			System.arraycopy(pv[0], 0, line, 0, line.length);
+			context.rootMove = context.rootBest;
+
+			//whole game tree searched, deeper is the same
+			if(!context.isDepthBound)
+				break;
+			if(depth == 1 && millis > 0)
+				context.setDeadline(millis - (System.nanoTime() - begin)/1000000L);
+		}
+
+		//bind line of play to start
+		ArrayList<IState> variation = new ArrayList<IState>(line.length);
+		IState state = start;
+		for(int move : line){
+			state = ((IMutableState)state).getMoveSuccessor(move).getUnboundCopy();
+			variation.add(state);
+		}
+		IState end = variation.isEmpty() ? start.getUnboundCopy() : variation.get(0);
+		Solution result = new Solution("Principal Variation Search", (System.nanoTime() - begin)/1000000L + " ms", "na", end);
+		result.pruning = stats;
+		result.variation = variation;
+		return result;
+	}
+
+	//search
+	// negamax score of current to depth for the
+	// player of color, 1 for max and -1 for min,
+	// within window alpha, beta, fail soft, the
+	// best line is left in pv[ply] when it is in
+	// the window
+	private int search(int depth, int alpha, int beta, int color, int ply, boolean isPV){
+		pvLength[ply] = ply;
+
+		//return if max search depth reached
+		if(depth == 0){
+			context.isDepthBound = true;
+			context.stats.leaves++;
+			return color*current.getCurrentCost();
+		}
+
+		//unwind if out of time, result is discarded
+		if(context.isTimeout())
+			return 0;
+
+		//probe table, cut off at null window nodes
+		//only so principal lines are searched in full
+		TranspositionTable table = context.table;
+		long key = 0;
+		int bestMove = -1;
+		if(table != null){
+			key = ((IKeyedState)current).getKey();
+			int slot = table.find(key);
+			if(slot != -1){
+				bestMove = table.getMove(slot);
+				if(!isPV && ply != 0 && table.getDepth(slot) >= depth){
+					int score = color*(table.getScore(slot) + current.getCurrentCost());
+					byte bound = getBound(table.getBound(slot), color);
+					if(bound == TranspositionTable.EXACT
+							|| (bound == TranspositionTable.LOWER && score >= beta)
+							|| (bound == TranspositionTable.UPPER && score <= alpha)){
+						context.stats.leaves++;
+						return score;
+					}
+				}
+			}
+		}
+
+		//get moves and return if non-exist
+		int[] moves = stack.getMoves(ply);
+		int count = current.getMoves(moves);
+		if(count == 0){
+			context.stats.leaves++;
+			return color*current.getCurrentCost();
+		}
+		if(ply == 0 && context.rootMove != -1)
+			bestMove = context.rootMove;//previous iteration best
+		if(bestMove >= count)
+			bestMove = -1;//key collision
+
+		//rank successor copies by the move orders
+		ArrayList<IState> successors = null;
+		int[] order = null;
+		if(context.orders.length > 0){
+			successors = new ArrayList<IState>(count);
+			for(int i = 0; i < count; i++)
+				successors.add(current.getMoveSuccessor(moves[i]));
+			order = Solver.getMoveOrder(current, successors, bestMove, ply, context.orders);
+		}
+		
+		int alpha0 = alpha;
+		int optimal = -INFINITY;
+		int optimalMove = -1;
+		context.stats.nodes++;
+		context.stats.generated += count;
+
+		//first move full window, then null window
+		//proving the rest no better than alpha
+		for(int n = 0; n < count; n++){
+			int i = order != null ? order[n] : bestMove == -1 ? n : n == 0 ? bestMove : n <= bestMove ? n - 1 : n;
+			context.stats.searched++;
+			current.applyMove(moves[i]);
+			int score;
+			if(n == 0){
+				score = -search(depth-1, -beta, -alpha, -color, ply+1, isPV);
+			}else{
+				score = -search(depth-1, -alpha-1, -alpha, -color, ply+1, false);
+				if(score > alpha && score < beta && !context.isTimeout){
+					context.stats.researches++;
+					score = -search(depth-1, -beta, -alpha, -color, ply+1, true);
+				}
+			}
+			current.undoMove(moves[i]);
+			if(context.isTimeout)
+				return 0;
+
+			if(score > optimal){
+				optimal = score;
+				optimalMove = i;
+				if(score > alpha){
+					alpha = score;
+					setLine(ply, moves[i]);
+				}
+				if(alpha >= beta){//check for prune opportunity
+					if(successors != null)
+						Solver.onCutoff(current, successors.get(i), n, ply, depth, context);
+					else
+						Solver.countCutoff(n, context);
+					break;
+				}
+			}
+		}
+
+		//store result, bound type by the entry window
+		if(table != null){
+			byte bound = optimal <= alpha0 ? TranspositionTable.UPPER : optimal >= beta ? TranspositionTable.LOWER : TranspositionTable.EXACT;
+			table.store(key, depth, color*optimal - current.getCurrentCost(), getBound(bound, color), optimalMove);
+		}
+		if(ply == 0)
+			context.rootBest = optimalMove;
+		return optimal;
+	}
+
+	//setLine
+	// best line at ply is move then
+	// the best line of the next ply
+	private void setLine(int ply, int move){
+		pv[ply][ply] = move;
+		int end = pvLength[ply + 1];
+		System.arraycopy(pv[ply + 1], ply + 1, pv[ply], ply + 1, end - ply - 1);
+		pvLength[ply] = end;
+	}
+
+	//getBound
+	// convert bound type between the max
+	// player's view and the player of color
+	private static byte getBound(byte bound, int color){
+		if(color == 1 || bound == TranspositionTable.EXACT)
+			return bound;
+		return bound == TranspositionTable.LOWER ? TranspositionTable.UPPER : TranspositionTable.LOWER;
+	}
+
+	//grow
+	// size line table for depth plys
+	private void grow(int depth){
+		if(pvLength.length > depth)
+			return;
+		pv = new int[depth + 1][depth + 1];
+		pvLength = new int[depth + 1];
+	}
+}
@@ -0,0 +1,61 @@
+package pathfinder.search;
+
+import java.util.Comparator;
+import java.util.PriorityQueue;
+
+/*
+ * PriorityFrontier concrete implementation of IFrontier
+ * backed by a binary heap ordered by a cost comparator
+ * for uniform cost and A star search
+ * 
+ */
+public class PriorityFrontier implements IFrontier {
+	private PriorityQueue<IState> states;
+	
+	public PriorityFrontier(Comparator<IState> comparator){
+		this.states = new PriorityQueue<IState>(11, comparator);
+	}
+	
+	//offer
+	// insert state by comparator order
+	@Override
+	public boolean offer(IState state){
+		return states.offer(state);
+	}
+	
+	//poll
+	// remove least cost state
+	@Override
+	public IState poll(){
+		return states.poll();
+	}
+	
+	//remove
+	// remove queued state equal to state,
+	// linear scan of the heap
+	public boolean remove(IState state){
+		return states.remove(state);
+	}
+	
+	//isEmpty
+	// check for no queued states
+	@Override
+	public boolean isEmpty(){
+		return states.isEmpty();
+	}
+	
+	//size
+	// get number of queued states
+	@Override
+	public int size(){
+		return states.size();
+	}
+	
+	//toArray
+	// get queued states in heap slot order,
+	// offered in order each stays in its slot
+	@Override
+	public IState[] toArray(){
+		return states.toArray(new IState[states.size()]);
+	}
+}
@@ -0,0 +1,91 @@
+package pathfinder.search;
+
+/*
+ * PruningStats class counts the nodes of one minmax
+ * search for the Solver class, comparing the leaves
+ * searched to the minimal alpha-beta tree of the same
+ * average branching and depth, b^ceil(d/2) + b^floor(d/2) - 1,
+ * which perfect move ordering reaches
+ * 
+ */
+public class PruningStats {
+	int depth;
+	long nodes;//interior nodes searched
+	long leaves;//depth limited, terminal or table cut nodes
+	long generated;//successors of interior nodes
+	long searched;//successors of interior nodes searched
+	long cutoffs;
+	long firstCutoffs;//cutoffs by the first searched successor
+	long researches;//principal variation search window misses searched again
+	
+	PruningStats(int depth){
+		this.depth = depth;
+	}
+	
+	//getDepth
+	// get depth field
+	public int getDepth(){
+		return depth;
+	}
+	
+	//getNodes
+	// get nodes field
+	public long getNodes(){
+		return nodes;
+	}
+	
+	//getLeaves
+	// get leaves field
+	public long getLeaves(){
+		return leaves;
+	}
+	
+	//getCutoffs
+	// get cutoffs field
+	public long getCutoffs(){
+		return cutoffs;
+	}
+	
+	//getResearches
+	// get researches field
+	public long getResearches(){
+		return researches;
+	}
+	
+	//getBranching
+	// get average successors per interior node
+	public double getBranching(){
+		return nodes == 0 ? 0 : (double)generated/nodes;
+	}
+	
+	//getSearchedRatio
+	// get fraction of successors searched,
+	// the rest were pruned
+	public double getSearchedRatio(){
+		return generated == 0 ? 0 : (double)searched/generated;
+	}
+	
+	//getFirstCutoffRate
+	// get fraction of cutoffs made by the first
+	// searched successor, 1 for perfect ordering
+	public double getFirstCutoffRate(){
+		return cutoffs == 0 ? 0 : (double)firstCutoffs/cutoffs;
+	}
+	
+	//getMinimalLeaves
+	// get leaves of the minimal tree
+	// of average branching and depth
+	public double getMinimalLeaves(){
+		double b = getBranching();
+		return Math.pow(b, (depth + 1)/2) + Math.pow(b, depth/2) - 1;
+	}
+	
+	//toString
+	// implementation based on counts
+	// and ratios
+	@Override
+	public String toString(){
+		return String.format("depth= %d; nodes= %d; leaves= %d; minimal leaves= %.0f; branching= %.2f; searched= %.2f; cutoffs= %d; first move cutoffs= %.2f; re-searches= %d",
+				depth, nodes, leaves, getMinimalLeaves(), getBranching(), getSearchedRatio(), cutoffs, getFirstCutoffRate(), researches);
+	}
+}
@@ -0,0 +1,235 @@
+package pathfinder.search;
+
+import java.io.File;
+import java.util.ArrayList;
+
+/*
+ * SearchConfig class holds optional settings
+ * for the Solver class, defaults match the 
+ * plain solveXXX(problem, solution) calls
+ * 
+ */
+public class SearchConfig {
+	ClosedSetType closedSetType = ClosedSetType.AUTO;
+	File tempDir = null;//null for java.io.tmpdir
+	long expectedStates = 1 << 20;//initial off heap table sizing
+	int threads = Runtime.getRuntime().availableProcessors();//HDAS workers
+	ArrayList<IMoveOrder> moveOrders = new ArrayList<IMoveOrder>();//minmax, after table move
+	boolean isStatsEnabled = true;//count SearchStats
+	ArrayList<ISearchListener> searchListeners = new ArrayList<ISearchListener>();
+	ArrayList<ILayerListener> layerListeners = new ArrayList<ILayerListener>();//external BFS
+	long nodeLimit = 0;//path search expansions, 0 for none
+	long timeLimit = 0;//path search millis, 0 for none
+	File checkpointFile = null;//null for no checkpoints
+	long checkpointInterval = 0;//expansions between checkpoints
+	boolean isCompactPaths = false;//frontier searches keep no parent references
+	
+	//copy
+	// get copy of settings with its own
+	// move order and listener lists
+	public SearchConfig copy(){
+		SearchConfig that = new SearchConfig();
+		that.closedSetType = closedSetType;
+		that.tempDir = tempDir;
+		that.expectedStates = expectedStates;
+		that.threads = threads;
+		that.moveOrders.addAll(moveOrders);
+		that.isStatsEnabled = isStatsEnabled;
+		that.searchListeners.addAll(searchListeners);
+		that.layerListeners.addAll(layerListeners);
+		that.nodeLimit = nodeLimit;
+		that.timeLimit = timeLimit;
+		that.checkpointFile = checkpointFile;
+		that.checkpointInterval = checkpointInterval;
+		that.isCompactPaths = isCompactPaths;
+		return that;
+	}
+	
+	//getClosedSetType
+	// get closedSetType field
+	public ClosedSetType getClosedSetType(){
+		return closedSetType;
+	}
+	
+	//setClosedSetType
+	// set closedSetType field
+	public SearchConfig setClosedSetType(ClosedSetType closedSetType){
+		this.closedSetType = closedSetType;
+		return this;
+	}
+	
+	//getTempDir
+	// get tempDir field
+	public File getTempDir(){
+		return tempDir;
+	}
+	
+	//setTempDir
+	// set directory for MAPPED closed set
+	// files and external search layers
+	public SearchConfig setTempDir(File tempDir){
+		this.tempDir = tempDir;
+		return this;
+	}
+	
+	//getExpectedStates
+	// get expectedStates field
+	public long getExpectedStates(){
+		return expectedStates;
+	}
+	
+	//setExpectedStates
+	// set expected visited state count, sizing
+	// off heap tables up front avoids rehashing
+	public SearchConfig setExpectedStates(long expectedStates){
+		this.expectedStates = expectedStates;
+		return this;
+	}
+	
+	//getThreads
+	// get threads field
+	public int getThreads(){
+		return threads;
+	}
+	
+	//setThreads
+	// set worker thread count of
+	// parallel searches
+	public SearchConfig setThreads(int threads){
+		this.threads = threads;
+		return this;
+	}
+	
+	//getMoveOrders
+	// get moveOrders field
+	public ArrayList<IMoveOrder> getMoveOrders(){
+		return moveOrders;
+	}
+	
+	//addMoveOrder
+	// add minmax move order, ranked after 
+	// the transposition table move and the
+	// orders added before it
+	public SearchConfig addMoveOrder(IMoveOrder moveOrder){
+		moveOrders.add(moveOrder);
+		return this;
+	}
+	
+	//isStatsEnabled
+	// get isStatsEnabled field
+	public boolean isStatsEnabled(){
+		return isStatsEnabled;
+	}
+	
+	//setStatsEnabled
+	// set if searches count SearchStats,
+	// wall time is always taken
+	public SearchConfig setStatsEnabled(boolean isStatsEnabled){
+		this.isStatsEnabled = isStatsEnabled;
+		return this;
+	}
+	
+	//getSearchListeners
+	// get searchListeners field
+	public ArrayList<ISearchListener> getSearchListeners(){
+		return searchListeners;
+	}
+	
+	//addSearchListener
+	// add listener passed the SearchStats
+	// of each finished search
+	public SearchConfig addSearchListener(ISearchListener listener){
+		searchListeners.add(listener);
+		return this;
+	}
+	
+	//getLayerListeners
+	// get layerListeners field
+	public ArrayList<ILayerListener> getLayerListeners(){
+		return layerListeners;
+	}
+	
+	//addLayerListener
+	// add listener passed the count of
+	// states of each finished layer of an
+	// external breadth first search
+	public SearchConfig addLayerListener(ILayerListener listener){
+		layerListeners.add(listener);
+		return this;
+	}
+	
+	//getNodeLimit
+	// get nodeLimit field
+	public long getNodeLimit(){
+		return nodeLimit;
+	}
+	
+	//setNodeLimit
+	// set most states a path search expands
+	// before a SearchLimitException, 0 for
+	// no limit, split between HDAS workers
+	public SearchConfig setNodeLimit(long nodeLimit){
+		if(nodeLimit < 0)
+			throw new IllegalArgumentException("node limit is negative: " + nodeLimit);
+		this.nodeLimit = nodeLimit;
+		return this;
+	}
+	
+	//getTimeLimit
+	// get timeLimit field
+	public long getTimeLimit(){
+		return timeLimit;
+	}
+	
+	//setTimeLimit
+	// set most millis a path search runs
+	// before a SearchLimitException, 0 for
+	// no limit
+	public SearchConfig setTimeLimit(long timeLimit){
+		if(timeLimit < 0)
+			throw new IllegalArgumentException("time limit is negative: " + timeLimit);
+		this.timeLimit = timeLimit;
+		return this;
+	}
+	
+	//getCheckpointFile
+	// get checkpointFile field
+	public File getCheckpointFile(){
+		return checkpointFile;
+	}
+	
+	//getCheckpointInterval
+	// get checkpointInterval field
+	public long getCheckpointInterval(){
+		return checkpointInterval;
+	}
+	
+	//setCheckpoint
+	// set file Solver.solve checkpoints its search
+	// to every interval expansions and restores it
+	// from if it exists, null for none
+	public SearchConfig setCheckpoint(File checkpointFile, long checkpointInterval){
+		if(checkpointFile != null && checkpointInterval < 1)
+			throw new IllegalArgumentException("checkpoint interval must be positive: " + checkpointInterval);
+		this.checkpointFile = checkpointFile;
+		this.checkpointInterval = checkpointFile == null ? 0 : checkpointInterval;
+		return this;
+	}
+	
+	//isCompactPaths
+	// get isCompactPaths field
+	public boolean isCompactPaths(){
+		return isCompactPaths;
+	}
+	
+	//setCompactPaths
+	// set if BFS, DFS, UC and A star searches
+	// queue states without parent references,
+	// keeping the move into each state reached
+	// in a packed table and replaying the path,
+	// exact keyed IMutableState states only
+	public SearchConfig setCompactPaths(boolean isCompactPaths){
+		this.isCompactPaths = isCompactPaths;
+		return this;
+	}
+}
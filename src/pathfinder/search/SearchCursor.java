@@ -0,0 +1,358 @@
+package pathfinder.search;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+
+/*
+ * SearchCursor class runs a frontier search of the Solver
+ * class a slice of expansions at a time, keeping its open
+ * and closed lists between slices so one thread can take
+ * turns between many searches
+ *
+ * a cursor is stepped by one thread at a time, pause and
+ * cancel may be called from any thread and are seen at the
+ * next expansion, an interrupt of the stepping thread
+ * cancels the search and is left set, a pause stops the
+ * running step, or the next one before it expands, and
+ * is cleared by the step it stops
+ *
+ * breadth first marks states visited as they are queued,
+ * the others as they are expanded, skipping stale copies
+ * polled again
+ *
+ * a checkpoint holds the closed set keys, the search
+ * tree above the queued states as (parent node, key)
+ * entries, parents first, the queue in frontier order
+ * and the counts, exact keyed states and a packed or
+ * off heap closed set are required, states are rebuilt
+ * on restore by following successors of the problem
+ * so the search continues as if never stopped
+ *
+ */
+public class SearchCursor implements AutoCloseable {
+	private static final int MAGIC = 0x53435031;//SCP1
+	
+	AlgoType type;
+	private IState problem;
+	private IState solution;
+	private IFrontier toVisit;
+	private IClosedSet isVisited;
+	private boolean isMarkOnQueue;//breadth first
+	private SearchStats stats;
+	private IState best;//expanded state of least estimate
+	private Solution found;
+	private boolean isDone;
+	private volatile boolean isPaused;
+	private volatile boolean isCancelled;
+	private File checkpointFile;//null for no checkpoints
+	private long checkpointInterval;
+	private long sinceCheckpoint;//expansions since last checkpoint
+
+	SearchCursor(AlgoType type, String name, IState problem, IState solution, IFrontier toVisit, boolean isMarkOnQueue, SearchConfig config){
+		this.type = type;
+		this.problem = problem;
+		this.solution = solution;
+		this.toVisit = toVisit;
+		this.isMarkOnQueue = isMarkOnQueue;
+		this.checkpointFile = config.getCheckpointFile();
+		this.checkpointInterval = config.getCheckpointInterval();
+		this.stats = new SearchStats(name, config);
+		this.isVisited = Solver.newClosedSet(problem, config);
+		this.best = problem;
+		toVisit.offer(problem);
+		if(isMarkOnQueue)
+			isVisited.add(problem);
+	}
+
+	//step
+	// expand up to nodes states, returning
+	// early if paused, returns false once the
+	// search is solved, exhausted or cancelled
+	public boolean step(long nodes){
+		try{
+			for(long n = 0; n < nodes && !isDone; n++){
+				if(isCancelled || Thread.currentThread().isInterrupted()){
+					isCancelled = true;
+					finish(null);
+				}else if(isPaused){
+					isPaused = false;//pause taken, next step resumes
+					break;
+				}else if(toVisit.isEmpty()){
+					finish(null);
+				}else{
+					expand(toVisit.poll());
+					if(checkpointFile != null && !isDone && sinceCheckpoint >= checkpointInterval)
+						checkpoint(checkpointFile);
+				}
+			}
+		}catch(SearchLimitException e){
+			release();//stats finished by the limit
+			throw e;
+		}
+		return !isDone;
+	}
+
+	//expand
+	// check state for solution, or queue
+	// its successors not visited
+	private void expand(IState current){
+		//skip stale copy left by a frontier without decrease-key
+		if(!isMarkOnQueue && isVisited.contains(current)){
+			stats.countDuplicate();
+			return;
+		}
+		if(current.equals(solution)){
+			finish(current);
+			return;
+		}
+		if(current.getHeuisticCost() < best.getHeuisticCost()
+				|| (current.getHeuisticCost() == best.getHeuisticCost() && current.getCurrentCost() < best.getCurrentCost()))
+			best = current;
+
+		stats.countExpanded();
+		sinceCheckpoint++;
+		for(IState succesor : current.getSuccessors()){
+			stats.countGenerated();
+			if(isMarkOnQueue ? !isVisited.add(succesor) : isVisited.contains(succesor)){
+				stats.countDuplicate();
+				continue;
+			}
+			toVisit.offer(succesor);
+		}
+		stats.updateOpen(toVisit.size());
+		stats.updateClosed(isVisited.size());
+
+		//mark visited, closed set keeps no parent reference
+		if(!isMarkOnQueue)
+			isVisited.add(current);
+	}
+
+	//finish
+	// end search at end, null if not
+	// solved, freeing the closed set
+	private void finish(IState end){
+		found = Solver.getSolution(stats, end, isVisited);
+		release();
+	}
+
+	//release
+	// end search without a result, freeing
+	// the closed set, stats are not finished
+	void release(){
+		isDone = true;
+		Solver.release(isVisited);
+		isVisited = null;
+		toVisit = null;
+	}
+
+	//checkpoint
+	// write search to file, through a temp
+	// file moved over it so a crash keeps the
+	// last checkpoint, not while a step is
+	// running in another thread
+	public void checkpoint(File file){
+		if(isDone)
+			throw new IllegalArgumentException("search is done, nothing to checkpoint");
+		if(!(problem instanceof IKeyedState) || !((IKeyedState)problem).hasExactKey())
+			throw new IllegalArgumentException("checkpoints require exact keyed states");
+		if(!(isVisited instanceof PackedClosedSet) && !(isVisited instanceof OffHeapClosedSet))
+			throw new IllegalArgumentException("checkpoints require a packed or off heap closed set");
+		
+		File temp = new File(file.getPath() + ".tmp");
+		try{
+			try(BinaryFile out = BinaryFile.create(temp)){
+				out.putInt(MAGIC);
+				out.putInt(type.ordinal());
+				out.putLong(getKey(problem));
+				out.putLong(getKey(solution));
+				out.putLong(System.nanoTime() - stats.begin);
+				out.putLong(stats.expanded);
+				out.putLong(stats.generated);
+				out.putLong(stats.duplicates);
+				out.putLong(stats.peakOpen);
+				out.putLong(stats.peakClosed);
+				out.putLong(stats.count);
+				if(isVisited instanceof PackedClosedSet)
+					((PackedClosedSet)isVisited).write(out);
+				else
+					((OffHeapClosedSet)isVisited).write(out);
+				
+				//tree nodes numbered as written, problem is 0
+				IState[] queued = toVisit.toArray();
+				IdentityHashMap<IState, Integer> nodes = new IdentityHashMap<IState, Integer>();
+				nodes.put(problem, 0);
+				ArrayList<IState> entries = new ArrayList<IState>();
+				for(IState state : queued)
+					addNodes(state, nodes, entries);
+				addNodes(best, nodes, entries);
+				out.putLong(entries.size());
+				for(IState state : entries){
+					out.putInt(nodes.get(state.getParent()));
+					out.putLong(getKey(state));
+				}
+				out.putInt(nodes.get(best));
+				out.putLong(queued.length);
+				for(IState state : queued)
+					out.putInt(nodes.get(state));
+				out.force();//on disk before it replaces the last checkpoint
+			}
+			Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		}catch(IOException e){
+			throw new UncheckedIOException("cannot write checkpoint " + file, e);
+		}
+		sinceCheckpoint = 0;
+	}
+	
+	//restore
+	// read cursor of checkpoint file, problem
+	// and solution must be those it was of
+	static SearchCursor restore(File file, IState problem, IState solution, SearchConfig config){
+		try(BinaryFile in = BinaryFile.open(file)){
+			if(in.getInt() != MAGIC)
+				throw new IllegalArgumentException("not a search checkpoint: " + file);
+			int ordinal = in.getInt();
+			if(ordinal < 0 || ordinal >= AlgoType.values().length)
+				throw new IllegalArgumentException("unknown search type in checkpoint: " + ordinal);
+			if(in.getLong() != getKey(problem) || in.getLong() != getKey(solution))
+				throw new IllegalArgumentException("checkpoint is of another problem or solution: " + file);
+			
+			SearchCursor cursor = Solver.getCursor(AlgoType.values()[ordinal], problem, solution, config);
+			try{
+				cursor.toVisit.poll();//restored queue replaces the problem
+				SearchStats stats = cursor.stats;
+				stats.begin = System.nanoTime() - in.getLong();
+				stats.expanded = in.getLong();
+				stats.generated = in.getLong();
+				stats.duplicates = in.getLong();
+				stats.peakOpen = in.getLong();
+				stats.peakClosed = in.getLong();
+				stats.count = in.getLong();
+				if(cursor.isVisited instanceof PackedClosedSet)
+					((PackedClosedSet)cursor.isVisited).read(in);
+				else if(cursor.isVisited instanceof OffHeapClosedSet)
+					((OffHeapClosedSet)cursor.isVisited).read(in);
+				else
+					throw new IllegalArgumentException("checkpoints require a packed or off heap closed set");
+			
+				//rebuild tree, each node a successor of its parent
+				ArrayList<IState> nodes = new ArrayList<IState>();
+				nodes.add(problem);
+				for(long n = in.getLong(); n > 0; n--){
+					IState parent = nodes.get(in.getInt());
+					nodes.add(getSuccessor(parent, in.getLong()));
+				}
+				cursor.best = nodes.get(in.getInt());
+				for(long n = in.getLong(); n > 0; n--)
+					cursor.toVisit.offer(nodes.get(in.getInt()));
+				return cursor;
+			}catch(IOException | RuntimeException e){
+				cursor.release();//free closed set of a failed restore
+				throw e;
+			}
+		}catch(IOException e){
+			throw new UncheckedIOException("cannot read checkpoint " + file, e);
+		}
+	}
+	
+	//addNodes
+	// number state and its ancestors not
+	// numbered yet, parents first
+	private static void addNodes(IState state, IdentityHashMap<IState, Integer> nodes, ArrayList<IState> entries){
+		int first = entries.size();
+		for(IState node = state; !nodes.containsKey(node); node = node.getParent())
+			entries.add(node);
+		//reverse chain to parents first
+		for(int i = first, j = entries.size() - 1; i < j; i++, j--){
+			IState tmp = entries.get(i);
+			entries.set(i, entries.get(j));
+			entries.set(j, tmp);
+		}
+		for(int i = first; i < entries.size(); i++)
+			nodes.put(entries.get(i), nodes.size());
+	}
+	
+	//getSuccessor
+	// successor of parent with key
+	private static IState getSuccessor(IState parent, long key){
+		for(IState successor : parent.getSuccessors()){
+			if(getKey(successor) == key)
+				return successor;
+		}
+		throw new IllegalArgumentException("checkpoint state is not a successor of its parent: " + key);
+	}
+	
+	//getKey
+	// get key of exact keyed state
+	private static long getKey(IState state){
+		if(!(state instanceof IKeyedState) || !((IKeyedState)state).hasExactKey())
+			throw new IllegalArgumentException("checkpoints require exact keyed states");
+		return ((IKeyedState)state).getKey();
+	}
+	
+	//pause
+	// ask a running step to return after
+	// the current expansion, or the next step
+	// to return at once if none is running,
+	// the step after the one stopped resumes
+	public void pause(){
+		isPaused = true;
+	}
+
+	//cancel
+	// stop the search at the next
+	// expansion or step
+	public void cancel(){
+		isCancelled = true;
+	}
+
+	//close
+	// cancel the search and free its closed
+	// set, not while a step is running
+	@Override
+	public void close(){
+		cancel();
+		if(!isDone)
+			step(1);
+	}
+
+	//isDone
+	// check if search is solved,
+	// exhausted or cancelled
+	public boolean isDone(){
+		return isDone;
+	}
+
+	//isCancelled
+	// check if search was cancelled
+	public boolean isCancelled(){
+		return isCancelled;
+	}
+
+	//getSolution
+	// get solution found, null while
+	// running or if not solved
+	public Solution getSolution(){
+		return found;
+	}
+
+	//getBest
+	// get best state so far, the solution
+	// end state once solved, otherwise the
+	// expanded state of least estimate, then
+	// least cost, linked back to the problem
+	public IState getBest(){
+		return found != null ? found.getEndState() : best;
+	}
+
+	//getSearchStats
+	// get counts so far, finished
+	// once the search is done
+	public SearchStats getSearchStats(){
+		return stats;
+	}
+}
@@ -0,0 +1,24 @@
+package pathfinder.search;
+
+/*
+ * SearchLimitException class stops a Solver path
+ * search past the node or time limit of its
+ * SearchConfig, holding the finished SearchStats
+ * 
+ */
+public class SearchLimitException extends RuntimeException {
+	private static final long serialVersionUID = 1L;
+	
+	SearchStats stats;
+	
+	SearchLimitException(SearchStats stats){
+		super(stats.type + " search limit reached");
+		this.stats = stats;
+	}
+	
+	//getSearchStats
+	// get stats field
+	public SearchStats getSearchStats(){
+		return stats;
+	}
+}
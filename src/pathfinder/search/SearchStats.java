@@ -0,0 +1,256 @@
+package pathfinder.search;
+
+import java.util.ArrayList;
+
+/*
+ * SearchStats class counts the work of one Solver
+ * search with plain counters: nodes expanded, successors
+ * generated, duplicates pruned and peak open and closed
+ * list sizes, wall time is always taken, counting is
+ * skipped when disabled in SearchConfig
+ * 
+ * node and time limits of SearchConfig are checked as
+ * states are expanded, a search past them is stopped
+ * by a SearchLimitException
+ * 
+ * finished stats are passed to the configured
+ * ISearchListeners
+ * 
+ */
+public class SearchStats {
+	String type;
+	boolean isEnabled;
+	long begin;//System.nanoTime() at start
+	long nanos;//wall time
+	long expanded;//states whose successors were generated
+	long generated;//successors generated
+	long duplicates;//successors or states pruned as already seen
+	long peakOpen;//most states queued, or path length of depth first searches
+	long peakClosed;//most states in the closed set
+	int depth = -1;//solution depth, -1 if not solved
+	ArrayList<ISearchListener> listeners;
+	long nodeLimit;//expansions allowed, 0 for none
+	long timeLimit;//nanos allowed, 0 for none
+	long count;//expansions, counted when limited
+	boolean isLimitReached;
+	
+	SearchStats(String type, SearchConfig config){
+		this.type = type;
+		this.isEnabled = config.isStatsEnabled();
+		this.listeners = config.getSearchListeners();
+		this.nodeLimit = config.getNodeLimit();
+		this.timeLimit = config.getTimeLimit()*1000000L;
+		this.begin = System.nanoTime();
+	}
+	
+	//constructor for one of parts searching at
+	//the same time, without listeners, sharing
+	//the clock and the node limit of whole
+	SearchStats(SearchStats whole, int parts){
+		this.type = whole.type;
+		this.isEnabled = whole.isEnabled;
+		this.listeners = new ArrayList<ISearchListener>();
+		this.nodeLimit = whole.nodeLimit == 0 ? 0 : Math.max(1, whole.nodeLimit/parts);
+		this.timeLimit = whole.timeLimit;
+		this.begin = whole.begin;
+	}
+	
+	//countExpanded
+	// count state about to be expanded,
+	// checking limits first so a stopped
+	// search counts only the work done
+	void countExpanded(){
+		if(nodeLimit != 0 || timeLimit != 0)
+			checkLimits();
+		if(isEnabled)
+			expanded++;
+	}
+	
+	//checkLimits
+	// stop search at node or time limit,
+	// the clock is read every 256 expansions
+	private void checkLimits(){
+		if((nodeLimit != 0 && count >= nodeLimit)
+				|| (timeLimit != 0 && (count & 0xff) == 0 && System.nanoTime() - begin > timeLimit)){
+			isLimitReached = true;
+			finish(null);
+			throw new SearchLimitException(this);
+		}
+		count++;
+	}
+	
+	//countGenerated
+	// count successor generated
+	void countGenerated(){
+		if(isEnabled)
+			generated++;
+	}
+	
+	//countDuplicate
+	// count state pruned as seen
+	void countDuplicate(){
+		if(isEnabled)
+			duplicates++;
+	}
+	
+	//updateOpen
+	// update peakOpen for new max
+	void updateOpen(long size){
+		if(isEnabled && size > peakOpen)
+			peakOpen = size;
+	}
+	
+	//updateClosed
+	// update peakClosed for new max
+	void updateClosed(long size){
+		if(isEnabled && size > peakClosed)
+			peakClosed = size;
+	}
+	
+	//add
+	// add counts of a part of the search,
+	// peaks are summed as the parts run
+	// at the same time
+	void add(SearchStats that){
+		expanded += that.expanded;
+		generated += that.generated;
+		duplicates += that.duplicates;
+		peakOpen += that.peakOpen;
+		peakClosed += that.peakClosed;
+	}
+	
+	//finish
+	// stop the clock and pass stats to
+	// listeners, end is null if not solved
+	void finish(IState end){
+		nanos = System.nanoTime() - begin;
+		depth = end == null ? -1 : end.getDepth();
+		for(ISearchListener listener : listeners)
+			listener.onSearchFinished(this);
+	}
+	
+	//getType
+	// get type field
+	public String getType(){
+		return type;
+	}
+	
+	//isEnabled
+	// check if counts were taken
+	public boolean isEnabled(){
+		return isEnabled;
+	}
+	
+	//isSolved
+	// check if a solution was found
+	public boolean isSolved(){
+		return depth != -1;
+	}
+	
+	//isLimitReached
+	// check if search was stopped by
+	// a node or time limit
+	public boolean isLimitReached(){
+		return isLimitReached;
+	}
+	
+	//getNanos
+	// get nanos field
+	public long getNanos(){
+		return nanos;
+	}
+	
+	//getExpanded
+	// get expanded field
+	public long getExpanded(){
+		return expanded;
+	}
+	
+	//getGenerated
+	// get generated field
+	public long getGenerated(){
+		return generated;
+	}
+	
+	//getDuplicates
+	// get duplicates field
+	public long getDuplicates(){
+		return duplicates;
+	}
+	
+	//getPeakOpen
+	// get peakOpen field
+	public long getPeakOpen(){
+		return peakOpen;
+	}
+	
+	//getPeakClosed
+	// get peakClosed field
+	public long getPeakClosed(){
+		return peakClosed;
+	}
+	
+	//getDepth
+	// get depth field
+	public int getDepth(){
+		return depth;
+	}
+	
+	//getNodesPerSecond
+	// get states expanded per second
+	public double getNodesPerSecond(){
+		return nanos == 0 ? 0 : expanded*1e9/nanos;
+	}
+	
+	//getEffectiveBranching
+	// get b* of the uniform tree of solution
+	// depth d with as many nodes as generated, 
+	// N = b* + b*^2 + ... + b*^d, solved by
+	// bisection, NaN if not solved
+	public double getEffectiveBranching(){
+		if(depth <= 0 || generated == 0)
+			return Double.NaN;
+		double lo = 0;
+		double hi = Math.max(1, generated);
+		for(int i = 0; i < 100; i++){
+			double mid = (lo + hi)/2;
+			double nodes = 0;
+			double power = 1;
+			for(int j = 0; j < depth && nodes <= generated; j++){
+				power *= mid;
+				nodes += power;
+			}
+			if(nodes > generated)
+				hi = mid;
+			else
+				lo = mid;
+		}
+		return (lo + hi)/2;
+	}
+	
+	//getTime
+	// get wall time as milliseconds string
+	String getTime(){
+		return String.format("%.3f ms", nanos/1e6);
+	}
+	
+	//getSpace
+	// get peak states held as string
+	String getSpace(){
+		return isEnabled ? (peakOpen + peakClosed) + " states" : "na";
+	}
+	
+	//toString
+	// implementation based on counts
+	// and rates
+	@Override
+	public String toString(){
+		String limit = isLimitReached ? "; limit reached" : "";
+		if(!isEnabled)
+			return String.format("time= %.3f ms; counts disabled%s", nanos/1e6, limit);
+		double branching = getEffectiveBranching();
+		return String.format("time= %.3f ms; expanded= %d; generated= %d; duplicates= %d; peak open= %d; peak closed= %d; effective branching= %s; nodes/s= %.0f%s",
+				nanos/1e6, expanded, generated, duplicates, peakOpen, peakClosed, 
+				Double.isNaN(branching) ? "na" : String.format("%.3f", branching), getNodesPerSecond(), limit);
+	}
+}
@@ -1,6 +1,7 @@
 package pathfinder.search;
 
 import java.util.ArrayList;
+import java.util.Collections;
 
 /*
  * Solution class provides meta data
@@ -12,6 +13,9 @@ public class Solution {
 	String type;
 	String time;
 	String space;
+	SearchStats stats;//path searches only
+	PruningStats pruning;//minmax searches only
+	ArrayList<IState> variation;//principal variation searches only
 	
 	
 	Solution(String type, String time, String space, IState end){
@@ -27,16 +31,40 @@ public class Solution {
 		return end;
 	}
 	
+	//getSearchStats
+	// get stats field, null for
+	// minmax searches
+	public SearchStats getSearchStats(){
+		return stats;
+	}
+	
+	//getPruningStats
+	// get pruning field, null for
+	// searches other than minmax
+	public PruningStats getPruningStats(){
+		return pruning;
+	}
+	
+	//getPrincipalVariation
+	// get expected line of play from the end
+	// state on, end state first, null for
+	// searches other than principal variation
+	public ArrayList<IState> getPrincipalVariation(){
+		return variation;
+	}
+	
 	//getOrderedPath
 	// reserve solution into an ordered
-	// path array from problem start to finish
+	// path array from problem start to finish,
+	// collected end first then reversed
 	public ArrayList<IState> getOrderedPath(){
 		IState current = end;
 		ArrayList<IState> orderdResults = new ArrayList<IState>();
 		while(current != null){
-			orderdResults.add(0, current);
+			orderdResults.add(current);
 			current = current.getParent();
 		}
+		Collections.reverse(orderdResults);
 		return orderdResults;
 	}
 	
@@ -70,6 +98,22 @@ public class Solution {
 		sb.append("; max space= ");
 		sb.append(space);
 		sb.append(System.lineSeparator());
+		if(stats != null){
+			sb.append("stats: ");
+			sb.append(stats.toString());
+			sb.append(System.lineSeparator());
+		}
+		if(pruning != null){
+			sb.append("pruning: ");
+			sb.append(pruning.toString());
+			sb.append(System.lineSeparator());
+		}
+		if(variation != null){
+			sb.append("principal variation: ");
+			sb.append(variation.size());
+			sb.append(" moves");
+			sb.append(System.lineSeparator());
+		}
 		sb.append("end results for ");
 		sb.append(type);
 		sb.append(" heuristic: ");
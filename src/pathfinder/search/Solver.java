@@ -1,10 +1,11 @@
 package pathfinder.search;
 
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.Comparator;
-import java.util.HashMap;
-import java.util.HashSet;
-import java.util.PriorityQueue;
 
 /*
  * Solver class solves any abstract problem with
@@ -13,40 +14,315 @@ import java.util.PriorityQueue;
  */
 
 public class Solver {
+	private static final int FOUND = -1;//IDA* solution marker, costs are non-negative
+	private static final int TABLE_BITS = 18;//default minmax transposition table size
+
+
+	//solve
+	// solution search for the search
+	// strategy selected by type
+	public static Solution solve(AlgoType type, IState problem, IState solution){
+		return solve(type, problem, solution, new SearchConfig());
+	}
 	
-	
+	//solve
+	// solution search for the search
+	// strategy selected by type with 
+	// solver options
+	public static Solution solve(AlgoType type, IState problem, IState solution, SearchConfig config){
+		if(config.getCheckpointFile() != null)
+			return solveCheckpointed(type, problem, solution, config);
+		switch(type){
+			case BFS:
+				return solveBFS(problem, solution, new FifoFrontier(), config);
+			case DFS:
+				return solveDFS(problem, solution, new LifoFrontier(), config);
+			case ID:
+				return solveID(problem, solution, config);
+			case UC:
+				return solveUC(problem, solution, new IndexedHeapFrontier(comparatorUC()), config);
+			case AS:
+				return solveAS(problem, solution, new IndexedHeapFrontier(comparatorAS()), config);
+			case UCB:
+				return solveUC(problem, solution, new BucketFrontier(false), config);
+			case ASB:
+				return solveAS(problem, solution, new BucketFrontier(true), config);
+			case IDAS:
+				return solveIDAS(problem, solution, config);
+			case HDAS:
+				return solveHDAS(problem, solution, config);
+			case BBFS:
+				return solveBidirectionalBFS(problem, solution, config);
+			case BUC:
+				return solveBidirectionalUC(problem, solution, config);
+			case BAS:
+				return solveBidirectionalAS(problem, solution, config);
+			case EBFS:
+				return solveExternalBFS(problem, solution, config);
+			default:
+				throw new IllegalArgumentException("unsupported search type: " + type);
+		}
+	}
+
 	//solveMinMax
 	// recursive entry for solution search
-	// based on minmax algorithm
+	// based on minmax algorithm, keyed states
+	// share a transposition table for the search
 	public static Solution solveMinMax(IState start, int depth){
+		TranspositionTable table = start instanceof IKeyedState ? new TranspositionTable(TABLE_BITS) : null;
+		return solveMinMax(start, depth, table);
+	}
+	
+	//solveMinMax
+	// recursive entry for solution search
+	// based on minmax algorithm with a caller 
+	// provided transposition table, e.g. kept
+	// across moves of a game, or null for none
+	public static Solution solveMinMax(IState start, int depth, TranspositionTable table){
+		return solveMinMax(start, depth, table, new SearchConfig());
+	}
+	
+	//solveMinMax
+	// recursive entry for solution search
+	// based on minmax algorithm with a caller 
+	// provided transposition table, or null for
+	// none, and the configured move orders
+	public static Solution solveMinMax(IState start, int depth, TranspositionTable table, SearchConfig config){
+		if(table != null && !(start instanceof IKeyedState))
+			throw new IllegalArgumentException("transposition table requires keyed states");
+		MinMaxContext context = new MinMaxContext(table, getMoveOrders(config));
+		context.start(depth);
+		IState end = solveMinMax(start, depth, context);
+		Solution result = new Solution("MinMax Search", "na", "na", end);
+		result.pruning = context.stats;
+		return result;
+	}
+	
+	//solveMinMaxTimed
+	// recursive entry for solution search
+	// based on minmax algorithm, deepened one
+	// ply at a time until millis run out
+	public static Solution solveMinMaxTimed(IState start, long millis){
+		TranspositionTable table = start instanceof IKeyedState ? new TranspositionTable(TABLE_BITS) : null;
+		return solveMinMaxTimed(start, millis, Integer.MAX_VALUE, table);
+	}
+	
+	//solveMinMaxTimed
+	// recursive entry for solution search
+	// based on minmax algorithm, deepened one
+	// ply at a time up to maxDepth until millis
+	// run out, returning the best move of the 
+	// deepest completed search, the first ply is
+	// always completed, the previous best move
+	// is searched first at the root
+	public static Solution solveMinMaxTimed(IState start, long millis, int maxDepth, TranspositionTable table){
+		return solveMinMaxTimed(start, millis, maxDepth, table, new SearchConfig());
+	}
+	
+	//solveMinMaxTimed
+	// recursive entry for solution search
+	// based on minmax algorithm, deepened one
+	// ply at a time up to maxDepth until millis
+	// run out, with the configured move orders
+	public static Solution solveMinMaxTimed(IState start, long millis, int maxDepth, TranspositionTable table, SearchConfig config){
+		if(table != null && !(start instanceof IKeyedState))
+			throw new IllegalArgumentException("transposition table requires keyed states");
+		long begin = System.nanoTime();
+		MinMaxContext context = new MinMaxContext(table, getMoveOrders(config));
+		IState best = null;
+		PruningStats stats = null;
+		
+		for(int depth = 1; depth <= Math.max(1, maxDepth); depth++){
+			context.isDepthBound = false;
+			context.start(depth);
+			IState end = solveMinMax(start, depth, context);
+			if(context.isTimeout)
+				break;//incomplete search, keep last result
+			best = end;
+			stats = context.stats;
+			context.rootMove = context.rootBest;
+			
+			//whole game tree searched, deeper is the same
+			if(!context.isDepthBound)
+				break;
+			if(depth == 1)
+				context.setDeadline(millis - (System.nanoTime() - begin)/1000000L);
+		}
+		Solution result = new Solution("Iterative Deepening MinMax Search", (System.nanoTime() - begin)/1000000L + " ms", "na", best);
+		result.pruning = stats;
+		return result;
+	}
+	
+	//solvePVS
+	// solution search based on negamax
+	// principal variation search deepened
+	// to depth
+	public static Solution solvePVS(IState start, int depth){
+		TranspositionTable table = start instanceof IKeyedState ? new TranspositionTable(TABLE_BITS) : null;
+		return solvePVS(start, depth, table);
+	}
+	
+	//solvePVS
+	// solution search based on negamax
+	// principal variation search deepened
+	// to depth with a caller provided 
+	// transposition table, or null for none
+	public static Solution solvePVS(IState start, int depth, TranspositionTable table){
+		return solvePVS(start, depth, table, new SearchConfig());
+	}
+	
+	//solvePVS
+	// solution search based on negamax
+	// principal variation search deepened
+	// to depth with a caller provided table
+	// and the move orders of config
+	public static Solution solvePVS(IState start, int depth, TranspositionTable table, SearchConfig config){
+		return getPVS(start, table, config).solve(depth, 0);
+	}
+	
+	//solvePVSTimed
+	// solution search based on negamax
+	// principal variation search deepened
+	// up to maxDepth until millis run out, 
+	// the first ply is always completed
+	public static Solution solvePVSTimed(IState start, long millis, int maxDepth, TranspositionTable table){
+		return solvePVSTimed(start, millis, maxDepth, table, new SearchConfig());
+	}
+	
+	//solvePVSTimed
+	// solution search based on negamax
+	// principal variation search deepened
+	// up to maxDepth until millis run out
+	// with the move orders of config
+	public static Solution solvePVSTimed(IState start, long millis, int maxDepth, TranspositionTable table, SearchConfig config){
+		if(millis <= 0)
+			throw new IllegalArgumentException("time budget must be positive: " + millis);
+		return getPVS(start, table, config).solve(maxDepth, millis);
+	}
+	
+	//getPVS
+	// check start and table for
+	// principal variation search
+	private static PrincipalVariationSearch getPVS(IState start, TranspositionTable table, SearchConfig config){
+		if(!(start instanceof IMutableState))
+			throw new IllegalArgumentException("principal variation search requires an IMutableState start");
+		if(table != null && !(start instanceof IKeyedState))
+			throw new IllegalArgumentException("transposition table requires keyed states");
+		return new PrincipalVariationSearch((IMutableState)start, table, getMoveOrders(config));
+	}
+	
+	//solveParallelMinMax
+	// solution search based on minmax
+	// algorithm with alpha-beta pruning over
+	// one thread per available processor
+	public static Solution solveParallelMinMax(IState start, int depth){
+		return solveParallelMinMax(start, depth, new SearchConfig());
+	}
+	
+	//solveParallelMinMax
+	// solution search based on minmax
+	// algorithm with alpha-beta pruning,
+	// siblings searched in parallel (young
+	// brothers wait) over the configured
+	// thread count
+	public static Solution solveParallelMinMax(IState start, int depth, SearchConfig config){
+		IState end = new ParallelMinMax(config.getThreads()).solve(start, depth);
+		return new Solution("Parallel MinMax Search", "na", "na", end);
+	}
+	
+	//solveMinMax
+	// search start to depth returning its best
+	// successor, or start if it has none, moves
+	// are applied and undone in place on one copy
+	// of an IMutableState unless move orders need
+	// successor states to rank
+	private static IState solveMinMax(IState start, int depth, MinMaxContext context){
+		if(start instanceof IMutableState && context.orders.length == 0){
+			IMutableState current = ((IMutableState)start).getMutableCopy();
+			solveMinMax(current, Integer.MIN_VALUE, Integer.MAX_VALUE, depth, true, context, new MoveStack(current.getMaxMoves()));
+			if(context.rootBest == -1)
+				return start.getUnboundCopy();
+			int[] moves = new int[current.getMaxMoves()];
+			current.getMoves(moves);//current is back at start
+			return ((IMutableState)start).getMoveSuccessor(moves[context.rootBest]).getUnboundCopy();
+		}
 		Entry problem = new Entry(start, start.getCurrentCost());
-		Entry solution = solveMinMax(problem, Integer.MIN_VALUE, Integer.MAX_VALUE, depth, true);
-		return new Solution("MinMax Search", "na", "na", solution.getIState());
+		return solveMinMax(problem, Integer.MIN_VALUE, Integer.MAX_VALUE, depth, true, context, true).getIState();
 	}
 	
 	//solveMinMax
 	// solution search based
 	// on minmax algorithm
 	// optimized with alpha-
-	// beta pruning
-	private static Entry solveMinMax(Entry start, int lb, int ub, int depth, boolean isMax){
+	// beta pruning, transposition
+	// table cutoffs and stored 
+	// best move searched first
+	private static Entry solveMinMax(Entry start, int lb, int ub, int depth, boolean isMax, MinMaxContext context, boolean isRoot){
 		
 		//return if max search depth reached
-		if(depth == 0)
+		if(depth == 0){
+			context.isDepthBound = true;
+			context.stats.leaves++;
 			return start;
+		}
+		
+		//unwind if out of time, result is discarded
+		if(context.isTimeout())
+			return start;
+		
+		//probe table for a deep enough result, root 
+		//is always searched to return its successor
+		TranspositionTable table = context.table;
+		long key = 0;
+		int bestMove = -1;
+		if(table != null){
+			key = ((IKeyedState)start.state).getKey();
+			int slot = table.find(key);
+			if(slot != -1){
+				bestMove = table.getMove(slot);
+				if(!isRoot && table.getDepth(slot) >= depth){
+					int score = table.getScore(slot) + start.state.getCurrentCost();
+					byte bound = table.getBound(slot);
+					if(bound == TranspositionTable.EXACT 
+							|| (bound == TranspositionTable.LOWER && score > ub)
+							|| (bound == TranspositionTable.UPPER && score < lb)){
+						context.stats.leaves++;
+						return new Entry(start.state, score);
+					}
+				}
+			}
+		}
 		
 		//get successors and return if non-exist
 		ArrayList<IState> successors = start.state.getSuccessors();
-		if(successors.size() == 0)
+		if(successors.size() == 0){
+			context.stats.leaves++;
 			return start;
+		}
+		if(isRoot && context.rootMove != -1)
+			bestMove = context.rootMove;//previous iteration best
+		if(bestMove >= successors.size())
+			bestMove = -1;//key collision
 		
+		int lb0 = lb, ub0 = ub;
 		Entry optimal = null;
+		int optimalMove = -1;
+		int ply = context.rootDepth - depth;
+		int[] order = getMoveOrder(start.state, successors, bestMove, ply, context.orders);
+		context.stats.nodes++;
+		context.stats.generated += successors.size();
 		
-		//get optimal successor solution for alternating min/max
-		for(IState succesor : successors){
+		//get optimal successor solution for alternating min/max,
+		//in move order
+		for(int n = 0; n < successors.size(); n++){
+			int i = order[n];
+			IState succesor = successors.get(i);
+			context.stats.searched++;
 			Entry problem = new Entry(succesor, succesor.getCurrentCost());
 			//recursive minmax solution search for successor
-			Entry solution = solveMinMax(problem, lb, ub, depth-1, isMax ? false : true);
+			Entry solution = solveMinMax(problem, lb, ub, depth-1, isMax ? false : true, context, false);
+			if(context.isTimeout)
+				return start;
 			boolean optimalFound = false;
 			
 			if(optimal == null){//first pass, init optimal
@@ -59,283 +335,848 @@ public class Solver {
 				optimal = new Entry(succesor, solution.getPathCost() );
 				optimalFound = true;
 			}
+			if(optimalFound)
+				optimalMove = i;
 			
 			if(isMax && optimalFound){
-				if(optimal.getPathCost() > ub)//check for prune opportunity
-					return optimal;
+				if(optimal.getPathCost() > ub){//check for prune opportunity
+					onCutoff(start.state, succesor, n, ply, depth, context);
+					break;
+				}
 				lb = optimal.getPathCost();//reset lower prune bound
 			}else if(!isMax && optimalFound){
-				if(optimal.getPathCost() < lb)//check for prune opportunity
-					return optimal;
+				if(optimal.getPathCost() < lb){//check for prune opportunity
+					onCutoff(start.state, succesor, n, ply, depth, context);
+					break;
+				}
 				ub = optimal.getPathCost();//reset upper prune bound
 			}
 		}
+		
+		//store result, bound type by the entry window
+		if(table != null){
+			int score = optimal.getPathCost();
+			byte bound = score < lb0 ? TranspositionTable.UPPER : score > ub0 ? TranspositionTable.LOWER : TranspositionTable.EXACT;
+			table.store(key, depth, score - start.state.getCurrentCost(), bound, optimalMove);
+		}
+		if(isRoot)
+			context.rootBest = optimalMove;
 		return optimal;
 	}	
 	
+	//solveMinMax
+	// in place minmax search with alpha-beta 
+	// pruning and transposition table as the 
+	// entry based search, same search order and
+	// result, without a state or list per node,
+	// returns the minmax score of current
+	private static int solveMinMax(IMutableState current, int lb, int ub, int depth, boolean isMax, MinMaxContext context, MoveStack stack){
+		
+		//return if max search depth reached
+		if(depth == 0){
+			context.isDepthBound = true;
+			context.stats.leaves++;
+			return current.getCurrentCost();
+		}
+		
+		//unwind if out of time, result is discarded
+		if(context.isTimeout())
+			return 0;
+		
+		//probe table for a deep enough result, root 
+		//is always searched to return its best move
+		int ply = context.rootDepth - depth;
+		TranspositionTable table = context.table;
+		long key = 0;
+		int bestMove = -1;
+		if(table != null){
+			key = ((IKeyedState)current).getKey();
+			int slot = table.find(key);
+			if(slot != -1){
+				bestMove = table.getMove(slot);
+				if(ply != 0 && table.getDepth(slot) >= depth){
+					int score = table.getScore(slot) + current.getCurrentCost();
+					byte bound = table.getBound(slot);
+					if(bound == TranspositionTable.EXACT 
+							|| (bound == TranspositionTable.LOWER && score > ub)
+							|| (bound == TranspositionTable.UPPER && score < lb)){
+						context.stats.leaves++;
+						return score;
+					}
+				}
+			}
+		}
+		
+		//get moves and return if non-exist
+		int[] moves = stack.getMoves(ply);
+		int count = current.getMoves(moves);
+		if(count == 0){
+			context.stats.leaves++;
+			return current.getCurrentCost();
+		}
+		if(ply == 0 && context.rootMove != -1)
+			bestMove = context.rootMove;//previous iteration best
+		if(bestMove >= count)
+			bestMove = -1;//key collision
+		
+		int lb0 = lb, ub0 = ub;
+		int optimal = 0;
+		int optimalMove = -1;
+		context.stats.nodes++;
+		context.stats.generated += count;
+		
+		//get optimal move score for alternating min/max,
+		//stored best move first then move order
+		for(int n = 0; n < count; n++){
+			int i = bestMove == -1 ? n : n == 0 ? bestMove : n <= bestMove ? n - 1 : n;
+			context.stats.searched++;
+			current.applyMove(moves[i]);
+			int score = solveMinMax(current, lb, ub, depth-1, !isMax, context, stack);
+			current.undoMove(moves[i]);
+			if(context.isTimeout)
+				return 0;
+			
+			if(optimalMove == -1 || (isMax && score > optimal) || (!isMax && score < optimal)){
+				optimal = score;
+				optimalMove = i;
+				if(isMax){
+					if(optimal > ub){//check for prune opportunity
+						countCutoff(n, context);
+						break;
+					}
+					lb = optimal;//reset lower prune bound
+				}else{
+					if(optimal < lb){//check for prune opportunity
+						countCutoff(n, context);
+						break;
+					}
+					ub = optimal;//reset upper prune bound
+				}
+			}
+		}
+		
+		//store result, bound type by the entry window
+		if(table != null){
+			byte bound = optimal < lb0 ? TranspositionTable.UPPER : optimal > ub0 ? TranspositionTable.LOWER : TranspositionTable.EXACT;
+			table.store(key, depth, optimal - current.getCurrentCost(), bound, optimalMove);
+		}
+		if(ply == 0)
+			context.rootBest = optimalMove;
+		return optimal;
+	}
+	
+	//getMoveOrder
+	// successor indexes in search order, table best
+	// move first, then by the rank of each move order
+	// in turn, ties kept in successor order
+	static int[] getMoveOrder(IState state, ArrayList<IState> successors, int bestMove, int ply, IMoveOrder[] orders){
+		int size = successors.size();
+		int[] order = new int[size];
+		for(int i = 0; i < size; i++)
+			order[i] = i;
+		if(orders.length == 0){
+			if(bestMove > 0){//move best to front, shifting the rest
+				System.arraycopy(order, 0, order, 1, bestMove);
+				order[0] = bestMove;
+			}
+			return order;
+		}
+		
+		int[][] ranks = new int[size][orders.length + 1];
+		for(int i = 0; i < size; i++){
+			ranks[i][0] = i == bestMove ? 1 : 0;
+			for(int j = 0; j < orders.length; j++)
+				ranks[i][j + 1] = orders[j].rank(state, successors.get(i), ply);
+		}
+		
+		//stable insertion sort, descending ranks
+		for(int n = 1; n < size; n++){
+			int i = order[n];
+			int m = n - 1;
+			while(m >= 0 && compareRanks(ranks[i], ranks[order[m]]) > 0){
+				order[m + 1] = order[m];
+				m--;
+			}
+			order[m + 1] = i;
+		}
+		return order;
+	}
+	
+	//compareRanks
+	// compare rank lists in turn
+	private static int compareRanks(int[] x, int[] y){
+		for(int j = 0; j < x.length; j++){
+			if(x[j] != y[j])
+				return x[j] < y[j] ? -1 : 1;
+		}
+		return 0;
+	}
+	
+	//onCutoff
+	// count cutoff by the nth searched successor
+	// and tell move orders
+	static void onCutoff(IState state, IState succesor, int n, int ply, int depth, MinMaxContext context){
+		countCutoff(n, context);
+		for(IMoveOrder order : context.orders)
+			order.update(state, succesor, ply, depth);
+	}
+	
+	//countCutoff
+	// count cutoff by the nth 
+	// searched successor
+	static void countCutoff(int n, MinMaxContext context){
+		context.stats.cutoffs++;
+		if(n == 0)
+			context.stats.firstCutoffs++;
+	}
+	
+	//getMoveOrders
+	// get configured move orders
+	private static IMoveOrder[] getMoveOrders(SearchConfig config){
+		return config.getMoveOrders().toArray(new IMoveOrder[0]);
+	}
+	
+	//getCursor
+	// resumable search of type stepped a
+	// slice of expansions at a time
+	public static SearchCursor getCursor(AlgoType type, IState problem, IState solution){
+		return getCursor(type, problem, solution, new SearchConfig());
+	}
+	
+	//getCursor
+	// resumable search of type with solver
+	// options, frontier searches only
+	public static SearchCursor getCursor(AlgoType type, IState problem, IState solution, SearchConfig config){
+		if(config.isCompactPaths())
+			throw new IllegalArgumentException("cursors keep parent references, compact paths are not supported");
+		switch(type){
+			case BFS:
+				return new SearchCursor(type, "Breadth First Search", problem, solution, new FifoFrontier(), true, config);
+			case DFS:
+				return new SearchCursor(type, "Depth First Search", problem, solution, new LifoFrontier(), false, config);
+			case UC:
+				return new SearchCursor(type, "Uniform Cost", problem, solution, new IndexedHeapFrontier(comparatorUC()), false, config);
+			case AS:
+				return new SearchCursor(type, "A*", problem, solution, new IndexedHeapFrontier(comparatorAS()), false, config);
+			case UCB:
+				return new SearchCursor(type, "Uniform Cost", problem, solution, new BucketFrontier(false), false, config);
+			case ASB:
+				return new SearchCursor(type, "A*", problem, solution, new BucketFrontier(true), false, config);
+			default:
+				throw new IllegalArgumentException("no cursor for search type: " + type);
+		}
+	}
+	
+	//restoreCursor
+	// resumable search read from a checkpoint
+	// of SearchCursor.checkpoint, of the type
+	// it was written by
+	public static SearchCursor restoreCursor(File file, IState problem, IState solution){
+		return restoreCursor(file, problem, solution, new SearchConfig());
+	}
+	
+	//restoreCursor
+	// resumable search read from a checkpoint
+	// with solver options
+	public static SearchCursor restoreCursor(File file, IState problem, IState solution, SearchConfig config){
+		return SearchCursor.restore(file, problem, solution, config);
+	}
+	
+	//solveCheckpointed
+	// cursor search of type, restored from the
+	// configured checkpoint file if it exists,
+	// the file is deleted once the search ends
+	private static Solution solveCheckpointed(AlgoType type, IState problem, IState solution, SearchConfig config){
+		File file = config.getCheckpointFile();
+		SearchCursor cursor = file.exists() ? restoreCursor(file, problem, solution, config) : getCursor(type, problem, solution, config);
+		try{
+			if(cursor.type != type)
+				throw new IllegalArgumentException("checkpoint is of search type " + cursor.type + ": " + file);
+			while(cursor.step(Long.MAX_VALUE));
+		}catch(RuntimeException e){
+			cursor.release();//free closed set held outside the heap
+			throw e;
+		}
+		try{
+			Files.deleteIfExists(file.toPath());
+		}catch(IOException e){
+			throw new UncheckedIOException("cannot delete checkpoint " + file, e);
+		}
+		return cursor.getSolution();
+	}
+	
 	//solveBFS
 	// solution search based on breadth
 	// first search algorithm
 	public static Solution solveBFS(IState problem, IState solution){
-		Measure m = new Measure();
-		m.resetTime();
-		m.resetMem();
-		
+		return solveBFS(problem, solution, new FifoFrontier(), new SearchConfig());
+	}
+	
+	//solveBFS
+	// solution search based on breadth
+	// first search algorithm
+	// with a caller provided (FIFO) frontier
+	public static Solution solveBFS(IState problem, IState solution, IFrontier toVisit){
+		return solveBFS(problem, solution, toVisit, new SearchConfig());
+	}
+	
+	//solveBFS
+	// solution search based on breadth
+	// first search algorithm
+	// with solver options
+	public static Solution solveBFS(IState problem, IState solution, SearchConfig config){
+		return solveBFS(problem, solution, new FifoFrontier(), config);
+	}
+	
+	//solveBFS
+	// solution search based on breadth
+	// first search algorithm
+	// with a caller provided (FIFO) frontier
+	// and solver options
+	public static Solution solveBFS(IState problem, IState solution, IFrontier toVisit, SearchConfig config){
+		if(config.isCompactPaths())
+			return new CompactPathSearch("Breadth First Search", problem, solution, toVisit, true, config).solve();
+		SearchStats stats = new SearchStats("Breadth First Search", config);
 		
 		//init search data structure and add start state
-		Solution foundSolution = null;
-		ArrayList<IState> toVisit = new ArrayList<IState>();
-		HashSet<IState> isVisited = new HashSet<IState>();
-		toVisit.add(problem);
-		
-		//search until there are no more successor states
-		//to visit
-		while(!toVisit.isEmpty()){
-			m.updateTime();
-			m.updateMem();  
-			
-			//get next state (FIFO), and check if solution
-			IState current = toVisit.remove(0);
-			if(current.equals(solution))
-				 return foundSolution = new Solution("Breadth First Search",  m.getTime() + " ms", m.getMem() + " mb", current);
-	
-			//get successor states and queue
-			for(IState succesor : current.getSuccessors()){
-				if(isVisited.contains(succesor))
-					continue;
+		IClosedSet isVisited = newClosedSet(problem, config);
+		try{
+			toVisit.offer(problem);
+			isVisited.add(problem);
+		
+			//search until there are no more successor states
+			//to visit
+			while(!toVisit.isEmpty()){
+				//get next state (FIFO), and check if solution
+				IState current = toVisit.poll();
+				if(current.equals(solution))
+					return getSolution(stats, current, isVisited);
+	
+				//get successor states and queue, marking
+				//visited on enqueue so FIFO order keeps the
+				//shallowest copy and duplicates are never queued
+				stats.countExpanded();
+				for(IState succesor : current.getSuccessors()){
+					stats.countGenerated();
+					if(!isVisited.add(succesor)){
+						stats.countDuplicate();
+						continue;
+					}
 				
-				toVisit.add(succesor);
+					toVisit.offer(succesor);
+				}
+				stats.updateOpen(toVisit.size());
+				stats.updateClosed(isVisited.size());
 			}
-			
-			//create unbound (no parent copy) to reduce memory
-			//for visited checking
-			isVisited.add(current.getUnboundCopy());
+			return getSolution(stats, null, isVisited);
+		}finally{
+			release(isVisited);
 		}
-		
-		return foundSolution;
+	}
+	
+	//solveExternalBFS
+	// solution search based on breadth
+	// first search with its layers kept
+	// on disk as sorted packed keys
+	public static Solution solveExternalBFS(IState problem, IState solution){
+		return solveExternalBFS(problem, solution, new SearchConfig());
+	}
+	
+	//solveExternalBFS
+	// solution search based on external
+	// breadth first search with solver options,
+	// files are kept under the temp directory
+	// and layer sizes passed to layer listeners
+	public static Solution solveExternalBFS(IState problem, IState solution, SearchConfig config){
+		return new ExternalBFS(problem, solution, config).solve();
 	}
 	
 	//solveDFS
 	// solution search based on depth
 	// first search algorithm
 	public static Solution solveDFS(IState problem, IState solution){
-		Measure m = new Measure();
-		m.resetTime();
-		m.resetMem();
-		
+		return solveDFS(problem, solution, new LifoFrontier(), new SearchConfig());
+	}
+	
+	//solveDFS
+	// solution search based on depth
+	// first search algorithm
+	// with a caller provided (LIFO) frontier
+	public static Solution solveDFS(IState problem, IState solution, IFrontier toVisit){
+		return solveDFS(problem, solution, toVisit, new SearchConfig());
+	}
+	
+	//solveDFS
+	// solution search based on depth
+	// first search algorithm
+	// with solver options
+	public static Solution solveDFS(IState problem, IState solution, SearchConfig config){
+		return solveDFS(problem, solution, new LifoFrontier(), config);
+	}
+	
+	//solveDFS
+	// solution search based on depth
+	// first search algorithm
+	// with a caller provided (LIFO) frontier
+	// and solver options
+	public static Solution solveDFS(IState problem, IState solution, IFrontier toVisit, SearchConfig config){
+		if(config.isCompactPaths())
+			return new CompactPathSearch("Depth First Search", problem, solution, toVisit, false, config).solve();
+		SearchStats stats = new SearchStats("Depth First Search", config);
 		
 		//init search data structure and add start state
-		Solution foundSolution = null;
-		ArrayList<IState> toVisit = new ArrayList<IState>();
-		HashSet<IState> isVisited = new HashSet<IState>();
-		toVisit.add(problem);
-		
-		//search until there are no more successor states
-		//to visit
-		while(!toVisit.isEmpty()){
-			m.updateTime();
-			m.updateMem();  
-			
-			//get next state (LIFO), and check if solution
-			IState current = toVisit.remove(toVisit.size()-1);
+		IClosedSet isVisited = newClosedSet(problem, config);
+		try{
+			toVisit.offer(problem);
+		
+			//search until there are no more successor states
+			//to visit
+			while(!toVisit.isEmpty()){
+				//get next state (LIFO), and check if solution
+				IState current = toVisit.poll();
 			
-			if(current.equals(solution))
-				 return foundSolution = new Solution("Depth First Search",  m.getTime() + " ms", m.getMem() + " mb", current);
+				if(current.equals(solution))
+					return getSolution(stats, current, isVisited);
 			
-			//get successor states and queue
-			for(IState succesor : current.getSuccessors()){
-				if(isVisited.contains(succesor))
-					continue;
+				//get successor states and queue
+				stats.countExpanded();
+				for(IState succesor : current.getSuccessors()){
+					stats.countGenerated();
+					if(isVisited.contains(succesor)){
+						stats.countDuplicate();
+						continue;
+					}
 				
-				toVisit.add(succesor);
+					toVisit.offer(succesor);
+				}
+				stats.updateOpen(toVisit.size());
+				stats.updateClosed(isVisited.size());
+				//mark visited, closed set keeps no parent reference
+				isVisited.add(current);
 			}
-			//create unbound (no parent copy) to reduce memory
-			//for visited checking
-			isVisited.add(current.getUnboundCopy());
+			return getSolution(stats, null, isVisited);
+		}finally{
+			release(isVisited);
 		}
-	
-		return foundSolution;
 	}
 	
 	//solveID
 	// solution search based on iterative
 	// deepening search algorithm
 	public static Solution solveID(IState problem, IState solution){
-		Measure m = new Measure();
-		m.resetTime();
-		m.resetMem();
-		
-		
+		return solveID(problem, solution, new SearchConfig());
+	}
+	
+	//solveID
+	// solution search based on iterative
+	// deepening search algorithm
+	// with solver options
+	public static Solution solveID(IState problem, IState solution, SearchConfig config){
+		SearchStats stats = new SearchStats("Iterative Deepening", config);
 		Solution foundSolution = null;
-		
-		
-		//TODO: find a way to remove cycle, can this be done
-		//a inner, no more successor states check which is 
-		//not bound by depth?
+		int reached = 0;//states within the previous depth limit
 		
 		//search until at depth i until foundSolution
 		for(int i = 0; foundSolution == null; i++){
-			//init search data structures and add start state
-			ArrayList<IState> toVisit = new ArrayList<IState>();
-			HashSet<IState> isVisited = new HashSet<IState>();
-			toVisit.add(problem);
+			//init search data structures and add start state,
+			//states are seen only if reached no shallower so
+			//each limit reaches every state within it
+			IFrontier toVisit = new LifoFrontier();
+			DepthClosedSet isVisited = new DepthClosedSet(problem);
+			boolean isCut = false;//a state hit depth limit
+			toVisit.offer(problem);
+			isVisited.add(problem);
 			
 			//search until no more successor states at depth i
 			while(!toVisit.isEmpty()){
-				m.updateTime();
-				m.updateMem(); 
-				
 				//get next state (LIFO), and check if solution
-				IState current = toVisit.remove(toVisit.size()-1);
+				IState current = toVisit.poll();
 				if(current.equals(solution))
-					 return foundSolution = new Solution("Iterative Deepening", m.getTime() + " ms", m.getMem() + " mb", current);
+					return foundSolution = getSolution(stats, current, isVisited);
+				
+				//skip stale copy reached shallower since queued
+				if(isVisited.getDepth(current) < current.getDepth()){
+					stats.countDuplicate();
+					continue;
+				}
 				
 				//do not add successors if current states hits depth limit
-				if(current.getDepth() >= i)
+				if(current.getDepth() >= i){
+					isCut = true;
 					continue;
+				}
 				
 				//get successor states and queue
+				stats.countExpanded();
 				for(IState succesor : current.getSuccessors()){
-					if(isVisited.contains(succesor))
+					stats.countGenerated();
+					if(!isVisited.add(succesor)){
+						stats.countDuplicate();
 						continue;
+					}
 					
-					toVisit.add(succesor);
+					toVisit.offer(succesor);
 				}
-				
-				//create unbound (no parent copy) to reduce memory
-				//for visited checking
-				isVisited.add(current.getUnboundCopy());
+				stats.updateOpen(toVisit.size());
+				stats.updateClosed(isVisited.size());
 			}
+			stats.updateClosed(isVisited.size());
+			
+			//all reachable states searched, deeper finds no more:
+			//no state hit the limit or none is new within it
+			if(!isCut || isVisited.size() == reached)
+				return getSolution(stats, null, null);
+			reached = isVisited.size();
 		}
 		
 		return foundSolution;
 	}	
 	
-	//solveID
+	//solveUC
 	// solution search based on uniform
 	// cost algorithm
 	public static Solution solveUC(IState problem, IState solution){
-		Measure m = new Measure();
-		m.resetTime();
-		m.resetMem();
-		
+		return solveUC(problem, solution, new IndexedHeapFrontier(comparatorUC()), new SearchConfig());
+	}
+	
+	//solveUC
+	// solution search based on uniform
+	// cost algorithm
+	// with a caller provided (cost ordered) frontier
+	public static Solution solveUC(IState problem, IState solution, IFrontier toVisit){
+		return solveUC(problem, solution, toVisit, new SearchConfig());
+	}
+	
+	//solveUC
+	// solution search based on uniform
+	// cost algorithm
+	// with solver options
+	public static Solution solveUC(IState problem, IState solution, SearchConfig config){
+		return solveUC(problem, solution, new IndexedHeapFrontier(comparatorUC()), config);
+	}
+	
+	//solveUC
+	// solution search based on uniform
+	// cost algorithm
+	// with a caller provided (cost ordered) frontier
+	// and solver options
+	public static Solution solveUC(IState problem, IState solution, IFrontier toVisit, SearchConfig config){
+		if(config.isCompactPaths())
+			return new CompactPathSearch("Uniform Cost", problem, solution, toVisit, false, config).solve();
+		SearchStats stats = new SearchStats("Uniform Cost", config);
 		
 		//init search data structure and add start state
-		Solution foundSolution = null;
-		HashMap<IState, Integer> costs = new HashMap<IState, Integer>();
-		//pq based on generic UC comparator
-		PriorityQueue<IState> toVisit = new PriorityQueue<IState>(1, comparatorUC());
-		HashSet<IState> isVisited = new HashSet<IState>();
-		toVisit.add(problem);
-		
-		//search until there are no more successor states
-		//to visit
-		while(!toVisit.isEmpty()){
-			m.updateTime();
-			m.updateMem();  
+		IClosedSet isVisited = newClosedSet(problem, config);
+		try{
+			toVisit.offer(problem);
+		
+			//search until there are no more successor states
+			//to visit
+			while(!toVisit.isEmpty()){
+				//get next state (cost adjusted PQ), and check if solution
+				IState current = toVisit.poll();
 			
-			//get next state (cost adjusted PQ), and check if solution
-			IState current = toVisit.poll();
+				//skip stale copy left by a frontier without decrease-key
+				if(isVisited.contains(current)){
+					stats.countDuplicate();
+					continue;
+				}
 			
-			if(current.equals(solution))
-				 return foundSolution = new Solution("Uniform Cost", m.getTime() + " ms", m.getMem() + " mb", current);
+				if(current.equals(solution))
+					return getSolution(stats, current, isVisited);
 			
-			//get successor states and queue
-			for(IState succesor : current.getSuccessors()){
-				if(isVisited.contains(succesor))
-					continue;
+				//get successor states and queue, frontier keeps
+				//the cheaper of an already queued equal state
+				stats.countExpanded();
+				for(IState succesor : current.getSuccessors()){
+					stats.countGenerated();
+					if(isVisited.contains(succesor)){
+						stats.countDuplicate();
+						continue;
+					}
 				
-				//compare cost if already seen (but not visited)
-				Integer previousCost = costs.get(succesor);
-				if(previousCost != null){
-					if(succesor.getCurrentCost() > previousCost.intValue())
-						continue;//existing is cheaper, ignore new
-					else
-						toVisit.remove(succesor);//new is cheaper, remove existing
+					toVisit.offer(succesor);
 				}
-				
-				//create unbound (no parent copy) to reduce memory
-				//for cost checking
-				costs.put(current.getUnboundCopy(), succesor.getCurrentCost());
-				toVisit.offer(succesor);
-			}
-			
+				stats.updateOpen(toVisit.size());
+				stats.updateClosed(isVisited.size());
 			
-			//visited, no longer need for cost checking
-			costs.remove(current);
-			//create unbound (no parent copy) to reduce memory
-			//for visited checking
-			isVisited.add(current.getUnboundCopy());
+				//mark visited, closed set keeps no parent reference
+				isVisited.add(current);
+			}
+			return getSolution(stats, null, isVisited);
+		}finally{
+			release(isVisited);
 		}
-		
-		return foundSolution;
 	}
 	
 	//solveAS
 	// solution search based on A
 	// star algorithm
 	public static Solution solveAS(IState problem, IState solution){
-		Measure m = new Measure();
-		m.resetTime();
-		m.resetMem();
+		return solveAS(problem, solution, new IndexedHeapFrontier(comparatorAS()), new SearchConfig());
+	}
+	
+	//solveAS
+	// solution search based on A
+	// star algorithm
+	// with a caller provided (cost ordered) frontier
+	public static Solution solveAS(IState problem, IState solution, IFrontier toVisit){
+		return solveAS(problem, solution, toVisit, new SearchConfig());
+	}
+	
+	//solveAS
+	// solution search based on A
+	// star algorithm
+	// with solver options
+	public static Solution solveAS(IState problem, IState solution, SearchConfig config){
+		return solveAS(problem, solution, new IndexedHeapFrontier(comparatorAS()), config);
+	}
+	
+	//solveAS
+	// solution search based on A
+	// star algorithm
+	// with a caller provided (cost ordered) frontier
+	// and solver options
+	public static Solution solveAS(IState problem, IState solution, IFrontier toVisit, SearchConfig config){
+		if(config.isCompactPaths())
+			return new CompactPathSearch("A*", problem, solution, toVisit, false, config).solve();
+		SearchStats stats = new SearchStats("A*", config);
 		
 		//init search data structure and add start state
-		Solution foundSolution = null;
-		HashMap<IState, Integer> costs = new HashMap<IState, Integer>();
-		PriorityQueue<IState> toVisit = new PriorityQueue<IState>(1, comparatorAS());
-		HashSet<IState> isVisited = new HashSet<IState>();
-		toVisit.add(problem);
-		
-		//search until there are no more successor states
-		//to visit
-		while(!toVisit.isEmpty()){
-			m.updateTime();
-			m.updateMem(); 
+		IClosedSet isVisited = newClosedSet(problem, config);
+		try{
+			toVisit.offer(problem);
+		
+			//search until there are no more successor states
+			//to visit
+			while(!toVisit.isEmpty()){
+				//get next state (cost adjusted PQ), and check if solution
+				IState current = toVisit.poll();
 			
-			//get next state (cost adjusted PQ), and check if solution
-			IState current = toVisit.poll();
+				//skip stale copy left by a frontier without decrease-key
+				if(isVisited.contains(current)){
+					stats.countDuplicate();
+					continue;
+				}
 			
-			if(current.equals(solution))
-				 return foundSolution = new Solution("A*",  m.getTime() + " ms", m.getMem() + " mb", current);
+				if(current.equals(solution))
+					return getSolution(stats, current, isVisited);
 			
-			//get successor states and queue
-			for(IState succesor : current.getSuccessors()){
-				if(isVisited.contains(succesor))
-					continue;
+				//get successor states and queue, frontier keeps
+				//the cheaper of an already queued equal state
+				stats.countExpanded();
+				for(IState succesor : current.getSuccessors()){
+					stats.countGenerated();
+					if(isVisited.contains(succesor)){
+						stats.countDuplicate();
+						continue;
+					}
 				
-				//compare cost if already seen (but not visited)
-				Integer previousCost = costs.get(succesor);
-				if(previousCost != null){
-					
-					if(succesor.getTotalCost() > previousCost.intValue())
-						continue;//existing is cheaper, ignore new
-					else
-						toVisit.remove(succesor);//existing is cheaper, ignore new
-						
+					toVisit.offer(succesor);
 				}
-				//create unbound (no parent copy) to reduce memory
-				//for cost checking
-				costs.put(current.getUnboundCopy(), succesor.getTotalCost());
-				toVisit.offer(succesor);
-			}
+				stats.updateOpen(toVisit.size());
+				stats.updateClosed(isVisited.size());
 
-			//visited, no longer need for cost checking
-			costs.remove(current);
-			//create unbound (no parent copy) to reduce memory
-			//for visited checking
-			isVisited.add(current.getUnboundCopy());
+				//mark visited, closed set keeps no parent reference
+				isVisited.add(current);
 			
+			}
+			return getSolution(stats, null, isVisited);
+		}finally{
+			release(isVisited);
 		}
-
-		return foundSolution;
+	}
+	
+	//solveIDAS
+	// solution search based on iterative
+	// deepening A star, depth first search
+	// bounded by total cost (h+g) and raised to
+	// the least exceeding cost each iteration, 
+	// moves are applied and undone in place on
+	// one IMutableState copy of the problem
+	public static Solution solveIDAS(IState problem, IState solution){
+		return solveIDAS(problem, solution, new SearchConfig());
+	}
+	
+	//solveIDAS
+	// solution search based on iterative
+	// deepening A star with solver options
+	public static Solution solveIDAS(IState problem, IState solution, SearchConfig config){
+		if(!(problem instanceof IMutableState))
+			throw new IllegalArgumentException("IDA* requires an IMutableState problem");
+		SearchStats stats = new SearchStats("Iterative Deepening A*", config);
+		
+		IMutableState start = (IMutableState)problem;
+		IMutableState current = start.getMutableCopy();
+		MoveStack stack = new MoveStack(current.getMaxMoves());
 		
+		//search until bound passes all reachable states
+		int bound = current.getTotalCost();
+		while(bound != Integer.MAX_VALUE){
+			int next = solveIDAS(current, solution, bound, -1, 0, stack, stats);
+			if(next == FOUND){
+				IState end = stack.replay(start, current.getDepth() - start.getDepth());
+				return getSolution(stats, end, null);
+			}
+			bound = next;
+		}
+		return getSolution(stats, null, null);
+	}
+	
+	//solveIDAS
+	// depth first search below current bounded
+	// by total cost, returns FOUND with the path
+	// left in stack and current at the solution, 
+	// otherwise the least total cost over bound
+	private static int solveIDAS(IMutableState current, IState solution, int bound, int inverse, int depth, MoveStack stack, SearchStats stats){
+		stats.updateOpen(depth);
+		
+		int cost = current.getTotalCost();
+		if(cost > bound)
+			return cost;
+		if(current.equals(solution))
+			return FOUND;
+		
+		int min = Integer.MAX_VALUE;
+		int[] moves = stack.getMoves(depth);
+		int count = current.getMoves(moves);
+		stats.countExpanded();
+		for(int i = 0; i < count; i++){
+			int move = moves[i];
+			stats.countGenerated();
+			if(move == inverse){
+				stats.countDuplicate();
+				continue;//parent move pruning, never undo last move
+			}
+			
+			current.applyMove(move);
+			stack.path[depth] = move;
+			int next = solveIDAS(current, solution, bound, current.getInverseMove(move), depth + 1, stack, stats);
+			if(next == FOUND)
+				return FOUND;//keep solution applied
+			current.undoMove(move);
+			
+			if(next < min)
+				min = next;
+		}
+		return min;
+	}
+	
+	//solveHDAS
+	// solution search based on hash
+	// distributed A star over one worker
+	// thread per available processor
+	public static Solution solveHDAS(IState problem, IState solution){
+		return solveHDAS(problem, solution, new SearchConfig());
+	}
+	
+	//solveHDAS
+	// solution search based on hash
+	// distributed A star, states are owned
+	// by the worker their hash maps to, over
+	// the configured worker thread count
+	public static Solution solveHDAS(IState problem, IState solution, SearchConfig config){
+		return new ParallelAStar(problem, solution, config).solve();
+	}
+	
+	//solveBidirectionalBFS
+	// solution search based on breadth
+	// first search from both the problem
+	// and the solution, meeting in the middle
+	public static Solution solveBidirectionalBFS(IState problem, IState solution){
+		return solveBidirectionalBFS(problem, solution, new SearchConfig());
+	}
+	
+	//solveBidirectionalBFS
+	// solution search based on bidirectional
+	// breadth first search with solver options
+	public static Solution solveBidirectionalBFS(IState problem, IState solution, SearchConfig config){
+		return new BidirectionalSearch(AlgoType.BBFS, problem, solution, config).solve();
+	}
+	
+	//solveBidirectionalUC
+	// solution search based on uniform
+	// cost from both the problem and the
+	// solution, meeting in the middle
+	public static Solution solveBidirectionalUC(IState problem, IState solution){
+		return solveBidirectionalUC(problem, solution, new SearchConfig());
+	}
+	
+	//solveBidirectionalUC
+	// solution search based on bidirectional
+	// uniform cost with solver options
+	public static Solution solveBidirectionalUC(IState problem, IState solution, SearchConfig config){
+		return new BidirectionalSearch(AlgoType.BUC, problem, solution, config).solve();
+	}
+	
+	//solveBidirectionalAS
+	// solution search based on front to end
+	// A star from both the problem and the
+	// solution, the backward side estimating
+	// toward the problem
+	public static Solution solveBidirectionalAS(IState problem, IState solution){
+		return solveBidirectionalAS(problem, solution, new SearchConfig());
+	}
+	
+	//solveBidirectionalAS
+	// solution search based on bidirectional
+	// A star with solver options
+	public static Solution solveBidirectionalAS(IState problem, IState solution, SearchConfig config){
+		return new BidirectionalSearch(AlgoType.BAS, problem, solution, config).solve();
+	}
+	
+	//getSolution
+	// finish stats with the closed set size,
+	// if any, returning null if end is null
+	static Solution getSolution(SearchStats stats, IState end, IClosedSet isVisited){
+		if(isVisited != null)
+			stats.updateClosed(isVisited.size());
+		stats.finish(end);
+		if(end == null)
+			return null;
+		Solution solution = new Solution(stats.type, stats.getTime(), stats.getSpace(), end);
+		solution.stats = stats;
+		return solution;
+	}
+	
+	//newClosedSet
+	// closed set of the configured type, off heap and
+	// packed types require exact 64 bit keys
+	static IClosedSet newClosedSet(IState problem, SearchConfig config){
+		boolean isPackable = problem instanceof IKeyedState && ((IKeyedState)problem).hasExactKey();
+		ClosedSetType type = config.getClosedSetType();
+		if(type == ClosedSetType.AUTO)
+			type = isPackable ? ClosedSetType.PACKED : ClosedSetType.HASH;
+		if(type != ClosedSetType.HASH && !isPackable)
+			throw new IllegalArgumentException(type + " closed set requires exact keyed states");
+		
+		switch(type){
+			case PACKED:
+				return new PackedClosedSet();
+			case DIRECT:
+				return new OffHeapClosedSet(config.getExpectedStates(), null);
+			case MAPPED:
+				File dir = config.getTempDir();
+				return new OffHeapClosedSet(config.getExpectedStates(), 
+						dir != null ? dir : new File(System.getProperty("java.io.tmpdir")));
+			default:
+				return new HashClosedSet();
+		}
+	}
+	
+	//release
+	// free closed set resources held 
+	// outside the java heap
+	static void release(IClosedSet isVisited){
+		if(isVisited instanceof OffHeapClosedSet)
+			((OffHeapClosedSet)isVisited).close();
 	}
 	
 	//comparatorUC
 	// comparator ranks two IStates
 	// based on current cost (g) for 
 	// uniform cost algorithm
-	private static Comparator<IState> comparatorUC(){
+	static Comparator<IState> comparatorUC(){
 		return new Comparator<IState>(){
 			public int compare(IState x, IState y){
 				if(x.getCurrentCost() < y.getCurrentCost())
@@ -353,7 +1194,7 @@ public class Solver {
 	// comparator ranks two IStates
 	// based on total cost (h+g) for 
 	// A star algorithm
-	private static Comparator<IState> comparatorAS(){
+	static Comparator<IState> comparatorAS(){
 		return new Comparator<IState>(){
 			public int compare(IState x, IState y){
 				if(x.getTotalCost() < y.getTotalCost())
@@ -0,0 +1,121 @@
+package pathfinder.search;
+
+import java.util.Arrays;
+
+/*
+ * TranspositionTable class holds minmax search results
+ * of IKeyedState positions for the Solver class, a fixed
+ * size direct mapped table of primitive arrays replacing
+ * a slot's entry with one searched at least as deep, or
+ * with any entry once the slot's entry is from an earlier
+ * root search (generation) so a table kept across moves
+ * of a game does not fill with deep stale positions
+ *
+ * scores are stored relative to the position's current
+ * cost so they hold for any path reaching it, moves are
+ * successor indexes in getSuccessors order
+ *
+ */
+public class TranspositionTable {
+	static final byte EMPTY = 0;
+	static final byte EXACT = 1;
+	static final byte LOWER = 2;//score is a lower bound
+	static final byte UPPER = 3;//score is an upper bound
+
+	private long[] keys;
+	private int[] scores;
+	private int[] depths;
+	private int[] moves;
+	private byte[] bounds;
+	private byte[] generations;//root search each entry was stored or found in
+	private byte generation;//current root search, wraps around
+	private int mask;
+
+	//public constructor for a table
+	//of 2^bits entries
+	public TranspositionTable(int bits){
+		if(bits < 0 || bits > 30)
+			throw new IllegalArgumentException("table bits out of range: " + bits);
+		int n = 1 << bits;
+		this.keys = new long[n];
+		this.scores = new int[n];
+		this.depths = new int[n];
+		this.moves = new int[n];
+		this.bounds = new byte[n];
+		this.generations = new byte[n];
+		this.mask = n - 1;
+	}
+
+	//find
+	// get slot holding key, or -1 if key
+	// is not stored, a found entry is kept
+	// as one of the current root search
+	int find(long key){
+		int i = slot(key);
+		if(bounds[i] == EMPTY || keys[i] != key)
+			return -1;
+		generations[i] = generation;
+		return i;
+	}
+
+	//store
+	// store search result of key, replacing
+	// the slot's entry when key is the same,
+	// the entry is of an earlier root search or
+	// depth is at least the stored depth
+	void store(long key, int depth, int score, byte bound, int move){
+		int i = slot(key);
+		if(bounds[i] != EMPTY && keys[i] != key && generations[i] == generation && depths[i] > depth)
+			return;
+		generations[i] = generation;
+		keys[i] = key;
+		depths[i] = depth;
+		scores[i] = score;
+		bounds[i] = bound;
+		moves[i] = move;
+	}
+
+	//getScore
+	// get relative score at slot
+	int getScore(int slot){
+		return scores[slot];
+	}
+
+	//getDepth
+	// get searched depth at slot
+	int getDepth(int slot){
+		return depths[slot];
+	}
+
+	//getBound
+	// get bound type at slot
+	byte getBound(int slot){
+		return bounds[slot];
+	}
+
+	//getMove
+	// get best move at slot, -1 if none
+	int getMove(int slot){
+		return moves[slot];
+	}
+
+	//newSearch
+	// start a root search, entries of
+	// earlier searches become replaceable
+	void newSearch(){
+		generation++;
+	}
+
+	//clear
+	// remove all entries
+	public void clear(){
+		Arrays.fill(bounds, EMPTY);
+	}
+
+	//slot
+	// home slot of key, keys are
+	// expected to be well mixed
+	private int slot(long key){
+		return (int)(key ^ (key >>> 32)) & mask;
+	}
+}
@@ -0,0 +1,420 @@
+package pathfinder.simacogo;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import pathfinder.search.IKeyedState;
+import pathfinder.search.IMutableState;
+import pathfinder.search.IState;
+
+/*
+ * BitboardGameState concrete implementation of IState
+ * for NxN puzzle connect four / go mashup game, the
+ * bitboard counterpart of GameState
+ *
+ * each player's pieces are a bitboard of board index
+ * bits, one long up to 8x8 and a long per 64 cells
+ * above, column heights are packed 4 bits a column in
+ * one long, move scores are looked up from a per width
+ * table as they depend only on the cell's neighbours
+ * on the board
+ *
+ * keys are the same Zobrist hashes as GameState so a
+ * position has the same key in either representation
+ *
+ * moves (IMutableState) are the column a piece is
+ * dropped in, successors share the bitboard they do
+ * not change with their parent so a bitboard is
+ * copied before its first in place change (copy on
+ * write)
+ *
+ */
+public class BitboardGameState implements IKeyedState, IMutableState{
+	static final int MAX_WIDTH = 15;//column height fits 4 bits
+	private static final int[][] MOVE_SCORES = new int[MAX_WIDTH + 1][];
+
+	static{
+		for(int k = 1; k <= MAX_WIDTH; k++)
+			MOVE_SCORES[k] = getMoveScores(k);
+	}
+
+	private class CellState {
+		static final byte O = 1;
+		static final byte X = 2;
+	}
+
+	int k;//board width
+	long[] o;//O pieces by board index
+	long[] x;//X pieces by board index
+	long heights;//pieces per column, 4 bits a column
+	byte move;
+	int score;//minmax score
+	long hash;//Zobrist hash
+	int last;//board index of last move, -1 for none
+	boolean isOwnO;//o is not shared with another state
+	boolean isOwnX;//x is not shared with another state
+	int[] lasts;//last before each applied move, null until a move is applied
+	int applied;//moves applied and not undone
+
+	//public constructor to be called when problem is defined
+	//e.g. empty board of width k, O to move
+	public BitboardGameState(int k){
+		if(k < 1 || k > MAX_WIDTH)
+			throw new IllegalArgumentException("board width must be 1-" + MAX_WIDTH + ": " + k);
+		int words = (k*k + 63) >>> 6;
+		this.k = k;
+		this.o = new long[words];
+		this.x = new long[words];
+		this.heights = 0;
+		this.move = CellState.O;
+		this.score = 0;
+		this.hash = 0;//empty board, O to move
+		this.last = -1;
+		this.isOwnO = true;
+		this.isOwnX = true;
+	}
+
+	//private constructor to be called when a state is copying
+	//and mutating itself into successor states, owning
+	//the boards passed as not shared
+	private BitboardGameState(int k, long[] o, long[] x, boolean isOwnO, boolean isOwnX, long heights, byte move, int score, long hash, int last){
+		this.k = k;
+		this.o = o;
+		this.x = x;
+		this.isOwnO = isOwnO;
+		this.isOwnX = isOwnX;
+		this.heights = heights;
+		this.move = move;
+		this.score = score;
+		this.hash = hash;
+		this.last = last;
+	}
+
+	//equals
+	// implementation based on game board
+	@Override
+	public boolean equals(Object obj){
+		if(!(obj instanceof BitboardGameState))
+			return false;
+		BitboardGameState that = (BitboardGameState)obj;
+		return k == that.k && Arrays.equals(o, that.o) && Arrays.equals(x, that.x);
+	}
+
+	//hashCode
+	// implementation based on Zobrist
+	// hash of game board
+	@Override
+	public int hashCode(){
+		return (int)(hash ^ (hash >>> 32));
+	}
+
+	//getKey
+	// get Zobrist hash of board
+	// and player to move
+	@Override
+	public long getKey(){
+		return hash;
+	}
+
+	//hasExactKey
+	// Zobrist hashes may collide
+	@Override
+	public boolean hasExactKey(){
+		return false;
+	}
+
+	//toString
+	// implementation based on game board
+	// and score
+	@Override
+	public String toString(){
+		StringBuilder sb = new StringBuilder();
+		for(int i = 0; i < k*k; i++){
+			sb.append(isSet(o, i) ? "O" : isSet(x, i) ? "X" : "-");
+			sb.append(" ");
+			if((i+1)%k==0)
+				sb.append("\n");
+		}
+		sb.append("score = " + score);
+		sb.append("\n");
+		return sb.toString();
+	}
+
+	//getSuccessors
+	// get all successor states, one per
+	// column that is not full
+	@Override
+	public ArrayList<IState> getSuccessors() {
+		ArrayList<IState> successors = new ArrayList<IState>(k);
+		for(int col = 0; col < k; col++){
+			int height = getHeight(col);
+			if(height < k)
+				successors.add(getSuccesor((k - 1 - height)*k + col));
+		}
+		return successors;
+	}
+
+	//getParent
+	// get parent IState, states
+	// keep no parent reference
+	@Override
+	public IState getParent(){
+		return null;
+	}
+
+	//getUnboundCopy
+	// get copy of current state without
+	// parent reference
+	@Override
+	public IState getUnboundCopy(){
+		return new BitboardGameState(k, o.clone(), x.clone(), true, true, heights, move, score, hash, last);
+	}
+
+	//getDepth
+	// get depth
+	@Override
+	public int getDepth() {
+		return 0;
+	}
+
+	//getCurrentCost
+	// get total cost to reach state
+	@Override
+	public int getCurrentCost() {
+		return score;
+	}
+
+	//isSameType
+	// prevents two different concrete
+	// implementations of IState from being
+	// to the Solver, ending up in a cycle
+	@Override
+	public boolean isSameType(IState that) {
+		return that instanceof BitboardGameState;
+	}
+
+	//getSuccesor
+	// create successor state marking index to
+	// with piece of player move, copying only
+	// the mover's bitboard, the other is shared
+	// and copied by whichever state changes it
+	BitboardGameState getSuccesor(int to){
+		int col = to % k;
+		long[] pieces = (move == CellState.O ? o : x).clone();
+		pieces[to >>> 6] |= 1L << to;
+
+		//calculate minmax and add to current score
+		int scoreIncrement = MOVE_SCORES[k][to];
+		int newScore = score + (move == CellState.O ? -scoreIncrement : scoreIncrement);
+		long newHash = hash ^ GameState.zobrist(to, move) ^ GameState.SIDE;
+		long newHeights = heights + (1L << (col << 2));
+		if(move == CellState.O){
+			isOwnX = false;
+			return new BitboardGameState(k, pieces, x, true, false, newHeights, CellState.X, newScore, newHash, to);
+		}
+		isOwnO = false;
+		return new BitboardGameState(k, o, pieces, false, true, newHeights, CellState.O, newScore, newHash, to);
+	}
+
+	//getMaxMoves
+	// get most moves available from any state
+	@Override
+	public int getMaxMoves(){
+		return k;
+	}
+
+	//getMoves
+	// list columns that are not full into
+	// moves, returning the move count
+	@Override
+	public int getMoves(int[] moves){
+		int count = 0;
+		for(int col = 0; col < k; col++){
+			if(getHeight(col) < k)
+				moves[count++] = col;
+		}
+		return count;
+	}
+
+	//applyMove
+	// drop piece of player move in column
+	// move, in place on this state's boards,
+	// keeping the last move for undoMove
+	@Override
+	public void applyMove(int move){
+		int to = (k - 1 - getHeight(move))*k + move;
+		long[] pieces = getOwnPieces(this.move);
+		pieces[to >>> 6] |= 1L << to;
+		int scoreIncrement = MOVE_SCORES[k][to];
+		score += this.move == CellState.O ? -scoreIncrement : scoreIncrement;
+		hash ^= GameState.zobrist(to, this.move) ^ GameState.SIDE;
+		heights += 1L << (move << 2);
+		this.move = this.move == CellState.O ? CellState.X : CellState.O;
+		if(lasts == null)
+			lasts = new int[k*k];
+		lasts[applied++] = last;
+		last = to;
+	}
+
+	//undoMove
+	// take top piece out of column move,
+	// restoring the last move before it,
+	// -1 past the moves applied to this state
+	@Override
+	public void undoMove(int move){
+		this.move = this.move == CellState.O ? CellState.X : CellState.O;
+		heights -= 1L << (move << 2);
+		int to = (k - 1 - getHeight(move))*k + move;
+		long[] pieces = getOwnPieces(this.move);
+		pieces[to >>> 6] &= ~(1L << to);
+		int scoreIncrement = MOVE_SCORES[k][to];
+		score -= this.move == CellState.O ? -scoreIncrement : scoreIncrement;
+		hash ^= GameState.zobrist(to, this.move) ^ GameState.SIDE;
+		last = applied > 0 ? lasts[--applied] : -1;
+	}
+	
+	//getOwnPieces
+	// get bitboard of player, copied first
+	// if shared with another state
+	private long[] getOwnPieces(byte player){
+		if(player == CellState.O){
+			if(!isOwnO){
+				o = o.clone();
+				isOwnO = true;
+			}
+			return o;
+		}
+		if(!isOwnX){
+			x = x.clone();
+			isOwnX = true;
+		}
+		return x;
+	}
+
+	//getInverseMove
+	// moves are not undone by another
+	// move, there is no inverse
+	@Override
+	public int getInverseMove(int move){
+		return -1;
+	}
+
+	//getMoveSuccessor
+	// create successor state for move, not
+	// sharing boards with this state as this
+	// state may be mutated in place
+	@Override
+	public IState getMoveSuccessor(int move){
+		return ((BitboardGameState)getUnboundCopy()).getSuccesor(getNextEmpty(move));
+	}
+
+	//getMutableCopy
+	// get copy of current state for in place
+	// mutation
+	@Override
+	public IMutableState getMutableCopy(){
+		return (IMutableState)getUnboundCopy();
+	}
+
+	//getWidth
+	// get board width
+	int getWidth(){
+		return k;
+	}
+
+	//getLastMove
+	// get board index of last move,
+	// -1 for the starting board
+	int getLastMove(){
+		return last;
+	}
+
+	//hasNext
+	// check for a column that is not full
+	boolean hasNext(){
+		for(int col = 0; col < k; col++){
+			if(getHeight(col) < k)
+				return true;
+		}
+		return false;
+	}
+
+	//getAvailableMoves
+	// get columns that are not full
+	ArrayList<Integer> getAvailableMoves(){
+		ArrayList<Integer> cols = new ArrayList<Integer>();
+		for(int col = 0; col < k; col++){
+			if(getHeight(col) < k)
+				cols.add(col);
+		}
+		return cols;
+	}
+
+	//getNextEmpty
+	// get board index of first empty cell
+	// in col, -1 if col is full
+	int getNextEmpty(int col){
+		int height = getHeight(col);
+		if(height == k)
+			return -1;
+		return (k - 1 - height)*k + col;
+	}
+
+	//getHeight
+	// get pieces in col
+	private int getHeight(int col){
+		return (int)(heights >>> (col << 2)) & 0xf;
+	}
+
+	//isSet
+	// check bit at board index pos
+	private static boolean isSet(long[] pieces, int pos){
+		return (pieces[pos >>> 6] & (1L << pos)) != 0;
+	}
+
+	//getMoveScores
+	// incremental score of a move at each
+	// cell of a board of width k, scored
+	// as GameState.getMoveScore, 2 for each
+	// N,E,S,W and 1 for each NE,SE,SW,NW
+	// cell on the board
+	private static int[] getMoveScores(int k){
+		int[] scores = new int[k*k];
+		for(int pos = 0; pos < k*k; pos++){
+			int row = pos / k;
+			int col = pos % k;
+			int vertical = (row > 0 ? 1 : 0) + (row < k - 1 ? 1 : 0);
+			int horizontal = (col > 0 ? 1 : 0) + (col < k - 1 ? 1 : 0);
+			scores[pos] = 2*(vertical + horizontal) + vertical*horizontal;
+		}
+		return scores;
+	}
+
+	@Override
+	//getHeuisticType
+	// null, NA method implemented from IState interface
+	public String getHeuisticType() {
+		return null;
+	}
+
+	//getDelta
+	// null, NA method implemented from IState interface
+	@Override
+	public int getDelta() {
+		return 0;
+	}
+
+	//getHeuisticCost
+	// null, NA method implemented from IState interface
+	@Override
+	public int getHeuisticCost() {
+		return 0;
+	}
+
+	//getTotalCost
+	// null, NA method implemented from IState interface
+	@Override
+	public int getTotalCost() {
+		return 0;
+	}
+}
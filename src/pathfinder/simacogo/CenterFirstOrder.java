@@ -0,0 +1,36 @@
+package pathfinder.simacogo;
+
+import pathfinder.search.IMoveOrder;
+import pathfinder.search.IState;
+
+/*
+ * CenterFirstOrder class ranks GameState moves by
+ * column, nearest the board center first, as center
+ * cells touch the most neighbours and score highest
+ * 
+ */
+public class CenterFirstOrder implements IMoveOrder {
+
+	//rank
+	// negative distance of the moved
+	// column from the center column
+	@Override
+	public int rank(IState state, IState successor, int ply){
+		int k, last;
+		if(successor instanceof BitboardGameState){
+			k = ((BitboardGameState)successor).getWidth();
+			last = ((BitboardGameState)successor).getLastMove();
+		}else{
+			GameState game = (GameState)successor;
+			k = (int) Math.sqrt(game.board.length);//assume board is always a NxN matrix
+			last = game.getLastMove();
+		}
+		return -Math.abs(2*(last % k) - (k - 1));
+	}
+
+	//update
+	// static order, nothing learned
+	@Override
+	public void update(IState state, IState successor, int ply, int depth){
+	}
+}
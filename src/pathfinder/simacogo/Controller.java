@@ -4,8 +4,12 @@ import java.io.BufferedReader;
 import java.io.InputStreamReader;
 import java.util.ArrayList;
 
+import pathfinder.search.HistoryMoveOrder;
 import pathfinder.search.IState;
+import pathfinder.search.KillerMoveOrder;
+import pathfinder.search.SearchConfig;
 import pathfinder.search.Solver;
+import pathfinder.search.TranspositionTable;
 
 
 /*
@@ -16,15 +20,24 @@ import pathfinder.search.Solver;
  */
 
 public class Controller {
+	private static final long MOVE_MILLIS = 2000;//AI search budget per move
+	private static final int TABLE_BITS = 20;
+	
 	private int plys;
-	private GameState gameState;
+	private BitboardGameState gameState;
+	private TranspositionTable table;//kept across AI moves
+	private SearchConfig config;//move orders, kept across AI moves
 	
 	
 	//public constructor to init new game
 	Controller(int plys, int width){
 		this.plys = plys;
-		byte[] board = new byte[width*width];
-		gameState = new GameState(board);		
+		gameState = new BitboardGameState(width);
+		table = new TranspositionTable(TABLE_BITS);
+		config = new SearchConfig()
+				.addMoveOrder(new KillerMoveOrder())
+				.addMoveOrder(new HistoryMoveOrder())
+				.addMoveOrder(new CenterFirstOrder());
 	}	
 	
 	//getUserMove
@@ -97,10 +110,11 @@ public class Controller {
 	}
 	
 	//processAIMove
-	// process AI move for round
+	// process AI move for round, deepened up 
+	// to difficulty plys within the move budget
 	private void processAIMove(){
-		IState solutionState =  Solver.solveMinMax(gameState, plys).getEndState();
-		gameState = (GameState)solutionState.getUnboundCopy();//TODO could be improved to just update based on index	
+		IState solutionState =  Solver.solvePVSTimed(gameState, MOVE_MILLIS, plys, table, config).getEndState();
+		gameState = (BitboardGameState)solutionState.getUnboundCopy();//TODO could be improved to just update based on index	
 	}
 	
 	//playRound
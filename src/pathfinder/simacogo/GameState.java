@@ -3,14 +3,19 @@ package pathfinder.simacogo;
 import java.util.ArrayList;
 import java.util.Arrays;
 
+import pathfinder.search.IKeyedState;
 import pathfinder.search.IState;
 
 /*
  * PuzzleState concrete implementation of IState
  * for NxN puzzle connect four / go mashup game
  * 
+ * the key is a Zobrist hash of the board and player
+ * to move, updated by each move
+ * 
  */
-public class GameState implements IState{
+public class GameState implements IKeyedState{
+	static final long SIDE = zobrist(-1, 0);//X to move
 	
 	private class CellState {
 		static final byte E = 0;
@@ -22,6 +27,8 @@ public class GameState implements IState{
 	byte[] board;//flatten board
 	byte move;
 	int score;//minmax score
+	long hash;//Zobrist hash
+	int last;//board index of last move, -1 for none
 	
 	//public constructor to be called when problem is defined
 	//e.g. beginning, end  states with no parent, cost, delta, 
@@ -32,15 +39,19 @@ public class GameState implements IState{
 		Arrays.fill(board, CellState.E);
 		this.board = Arrays.copyOf(board, board.length);
 		this.score = 0;
+		this.hash = 0;//empty board, O to move
+		this.last = -1;
 	}
 	
 	//private constructor to be called when a state is copying
 	//and mutating itself into successor states without a parent
 	//reference
-	private GameState(byte[] board, byte nextMove, int score) {
+	private GameState(byte[] board, byte nextMove, int score, long hash, int last) {
 		this.board = Arrays.copyOf(board, board.length);
 		this.move = nextMove;
 		this.score = score;
+		this.hash = hash;
+		this.last = last;
 	}
 
 	//equals
@@ -53,10 +64,26 @@ public class GameState implements IState{
 	}
 	
 	//hashCode
-	// implementation based on game board
+	// implementation based on Zobrist 
+	// hash of game board
 	@Override
 	public int hashCode(){
-		return Arrays.hashCode(board);
+		return (int)(hash ^ (hash >>> 32));
+	}
+	
+	//getKey
+	// get Zobrist hash of board 
+	// and player to move
+	@Override
+	public long getKey(){
+		return hash;
+	}
+	
+	//hasExactKey
+	// Zobrist hashes may collide
+	@Override
+	public boolean hasExactKey(){
+		return false;
 	}
 	
 	//toString
@@ -111,7 +138,7 @@ public class GameState implements IState{
 	// parent reference
 	@Override
 	public IState getUnboundCopy(){
-		return new GameState(this.board, this.move, score);
+		return new GameState(this.board, this.move, score, hash, last);
 	}
 	
 	//getDepth
@@ -154,7 +181,26 @@ public class GameState implements IState{
 		int newScore = score + (this.move == CellState.O ? -scoreIncrement : scoreIncrement);
 		
 		byte nextMove = this.move == CellState.O ? CellState.X : CellState.O;
-		return new GameState(tmp, nextMove, newScore);
+		long newHash = hash ^ zobrist(to, this.move) ^ SIDE;
+		return new GameState(tmp, nextMove, newScore, newHash, to);
+	}
+	
+	//zobrist
+	// Zobrist key of piece at board index pos, 
+	// splitmix64 of the pair so any board size
+	// has keys without a table
+	static long zobrist(int pos, int piece){
+		long z = 0x9e3779b97f4a7c15L * (((long)pos << 2) + piece + 5);
+		z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+		z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+		return z ^ (z >>> 31);
+	}
+	
+	//getLastMove
+	// get board index of last move,
+	// -1 for the starting board
+	int getLastMove(){
+		return last;
 	}
 	
 	//hasNext